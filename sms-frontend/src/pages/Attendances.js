@@ -3,7 +3,7 @@ import axios from 'axios';
 import { useNavigate } from 'react-router-dom';
 
 function Attendances({ attendances = [], selectedDate, onUpdate }) {
-  const [editingId, setEditingId] = useState(null);
+  const [editingKey, setEditingKey] = useState(null);
   const [isUpdating, setIsUpdating] = useState(false);
   const [sortConfig, setSortConfig] = useState({ key: null, direction: 'asc' });
   const [departments, setDepartments] = useState([]);
@@ -139,14 +139,24 @@ function Attendances({ attendances = [], selectedDate, onUpdate }) {
 
   const sortedData = getSortedData(filteredByDept);
 
-  const handleUpdate = async (id, present) => {
+  // Students without a row for a date come back as absent rows with no id; key them by
+  // student and date, and save them by (studentId, date) so the row gets created
+  const rowKey = (a) => a.id ?? `${a.student?.id}@${a.date}`;
+
+  const handleUpdate = async (a, present) => {
     setIsUpdating(true);
     try {
-      await axios.put(`http://localhost:8080/api/attendance/${id}`, null, {
-        params: { present }
-      });
+      if (a.id != null) {
+        await axios.put(`http://localhost:8080/api/attendance/${a.id}`, null, {
+          params: { present }
+        });
+      } else {
+        await axios.post('http://localhost:8080/api/attendance/mark', null, {
+          params: { studentId: a.student.id, date: a.date, present }
+        });
+      }
       onUpdate();
-      setEditingId(null);
+      setEditingKey(null);
     } catch (err) {
       console.error("Error updating attendance:", err);
     } finally {
@@ -318,7 +328,7 @@ function Attendances({ attendances = [], selectedDate, onUpdate }) {
 
                 return (
                   <tr 
-                    key={a.id} 
+                    key={rowKey(a)} 
                     className="border-b border-white/20 dark:border-gray-700/50 hover:bg-white/50 dark:hover:bg-gray-700/50 transition-colors"
                   >
                     <td className="px-4 py-3">{a.id}</td>
@@ -346,10 +356,10 @@ function Attendances({ attendances = [], selectedDate, onUpdate }) {
                       {a.student?.course?.name || 'N/A'}
                     </td>
                     <td className="px-4 py-3">
-                      {editingId === a.id ? (
+                      {editingKey === rowKey(a) ? (
                         <select
                           value={a.present}
-                          onChange={(e) => handleUpdate(a.id, e.target.value === 'true')}
+                          onChange={(e) => handleUpdate(a, e.target.value === 'true')}
                           className="border border-orange-300/50 dark:border-orange-400/50 rounded-lg p-2 bg-white/70 dark:bg-gray-700/70 backdrop-blur-sm text-gray-800 dark:text-white focus:ring-2 focus:ring-orange-500/50 focus:border-orange-500 transition-all"
                           disabled={isUpdating || isEvicted}
                         >
@@ -377,7 +387,7 @@ function Attendances({ attendances = [], selectedDate, onUpdate }) {
                         </button>
                       ) : (
                         <button
-                          onClick={() => setEditingId(a.id)}
+                          onClick={() => setEditingKey(rowKey(a))}
                           className="bg-orange-500/10 text-orange-600 dark:text-orange-400 px-4 py-2 rounded-lg backdrop-blur-sm border border-orange-400/20 hover:bg-orange-500/20 dark:hover:bg-orange-500/20 transition-all shadow-sm hover:shadow-md font-medium"
                         >
                           Edit
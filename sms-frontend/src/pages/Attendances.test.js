@@ -0,0 +1,59 @@
+import React from 'react';
+import { render, screen, fireEvent, waitFor } from '@testing-library/react';
+import { MemoryRouter } from 'react-router-dom';
+import axios from 'axios';
+import Attendances from './Attendances';
+
+jest.mock('axios', () => ({
+  get: jest.fn(() => Promise.resolve({ data: [] })),
+  put: jest.fn(() => Promise.resolve({ data: {} })),
+  post: jest.fn(() => Promise.resolve({ data: {} })),
+}));
+
+const course = { id: 1, name: 'BCA' };
+const rows = [
+  { id: 7, date: '2025-08-01', present: true, student: { id: 1, name: 'Ganesh', course } },
+  // Absent rows made up by the API for students with no record that day carry no id
+  { id: null, date: '2025-08-01', present: false, student: { id: 2, name: 'Vaisali', course } },
+  { id: null, date: '2025-08-01', present: false, student: { id: 3, name: 'Santhiya', course } },
+];
+
+afterEach(() => jest.clearAllMocks());
+
+function renderPage(onUpdate = jest.fn()) {
+  render(
+    <MemoryRouter>
+      <Attendances attendances={rows} onUpdate={onUpdate} />
+    </MemoryRouter>
+  );
+  return onUpdate;
+}
+
+test('editing a made-up absent row creates it by student and date', async () => {
+  const onUpdate = renderPage();
+
+  fireEvent.click(screen.getAllByText('Edit')[1]);
+  const selects = screen.getAllByRole('combobox').filter(el => el.value === 'false');
+  expect(selects).toHaveLength(1); // only the clicked row is in edit mode
+
+  fireEvent.change(selects[0], { target: { value: 'true' } });
+
+  await waitFor(() => expect(onUpdate).toHaveBeenCalled());
+  expect(axios.put).not.toHaveBeenCalled();
+  expect(axios.post).toHaveBeenCalledWith('http://localhost:8080/api/attendance/mark', null, {
+    params: { studentId: 2, date: '2025-08-01', present: true }
+  });
+});
+
+test('editing a recorded row updates it by id', async () => {
+  const onUpdate = renderPage();
+
+  fireEvent.click(screen.getAllByText('Edit')[0]);
+  const select = screen.getAllByRole('combobox').find(el => el.value === 'true');
+  fireEvent.change(select, { target: { value: 'false' } });
+
+  await waitFor(() => expect(onUpdate).toHaveBeenCalled());
+  expect(axios.put).toHaveBeenCalledWith('http://localhost:8080/api/attendance/7', null, {
+    params: { present: false }
+  });
+});
@@ -0,0 +1,48 @@
+package com.sms.studentmanagement.benchmark;
+
+import com.sms.studentmanagement.controller.AttendanceController;
+import com.sms.studentmanagement.entity.Attendance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class AttendanceBenchmark {
+
+    private final SplittableRandom random = new SplittableRandom(7);
+    private AttendanceController attendanceController;
+
+    @Setup(Level.Trial)
+    public void setUp(Dataset dataset) {
+        attendanceController = dataset.bean(AttendanceController.class);
+    }
+
+    /** Every recorded row plus a synthesized absent row for each missing (student, date) cell. */
+    @Benchmark
+    public List<Attendance> getAllAttendance() {
+        return attendanceController.getAllAttendance();
+    }
+
+    @Benchmark
+    public List<Attendance> getAttendanceByDate(Dataset dataset) {
+        return attendanceController.getAttendanceByDate(
+                Dataset.FIRST_DAY.plusDays(random.nextInt(dataset.days)).toString());
+    }
+}
@@ -0,0 +1,54 @@
+package com.sms.studentmanagement.benchmark;
+
+import com.sms.studentmanagement.bitmap.AttendanceBitmapIndex;
+import com.sms.studentmanagement.dto.AttendanceDayCountDto;
+import com.sms.studentmanagement.dto.AttendanceIndexQueryDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class AttendanceIndexBenchmark {
+
+    private AttendanceBitmapIndex index;
+    private String absentEveryDay;
+
+    @Setup(Level.Trial)
+    public void setUp(Dataset dataset) {
+        index = dataset.bean(AttendanceBitmapIndex.class);
+        StringBuilder query = new StringBuilder("course(1)");
+        for (int d = 0; d < dataset.days; d++) {
+            query.append(" & absent(").append(Dataset.FIRST_DAY.plusDays(d)).append(')');
+        }
+        absentEveryDay = query.toString();
+    }
+
+    /** Students of one course absent on every day of the dataset; parses the expression each time. */
+    @Benchmark
+    public AttendanceIndexQueryDto absentOnAllDays() {
+        return index.query(absentEveryDay, 100);
+    }
+
+    @Benchmark
+    public List<AttendanceDayCountDto> mondayCountsForCourse() {
+        return index.dayCounts(LocalDate.MIN, LocalDate.MAX, 2L, DayOfWeek.MONDAY);
+    }
+}
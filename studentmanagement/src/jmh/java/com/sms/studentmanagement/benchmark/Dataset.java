@@ -0,0 +1,119 @@
+package com.sms.studentmanagement.benchmark;
+
+import com.sms.studentmanagement.StudentmanagementApplication;
+import com.sms.studentmanagement.bitmap.AttendanceBitmapIndex;
+import com.sms.studentmanagement.summary.AttendanceSummaryService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The application context plus a synthetic dataset, built once per trial:
+ * {@code students} students spread over the three seeded courses, one mark per course subject,
+ * and {@code days} days of attendance with ~5% of cells left unrecorded so the read paths
+ * also exercise their absent-row synthesis.
+ */
+@State(Scope.Benchmark)
+public class Dataset {
+
+    static final long FIRST_STUDENT_ID = 1_000_000;
+    static final long FIRST_MARK_ID = 1_000_000;
+    static final long FIRST_ATTENDANCE_ID = 10_000_000;
+    static final int SUBJECTS_PER_COURSE = 5;
+    static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    private static final int INSERT_CHUNK = 10_000;
+
+    @Param({"1000", "10000", "100000"})
+    public int students;
+
+    @Param({"10"})
+    public int days;
+
+    public ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(StudentmanagementApplication.class)
+                .logStartupInfo(false)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_ON_EXIT=FALSE",
+                        "--app.seed.attendance.enabled=false",
+                        "--logging.level.root=WARN");
+        seed(context.getBean(JdbcTemplate.class));
+        // Rows went in through JDBC, so derive attendance_summary and the bitmap index from them
+        context.getBean(AttendanceSummaryService.class).rebuild();
+        context.getBean(AttendanceBitmapIndex.class).reload();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long randomStudentId(SplittableRandom random) {
+        return FIRST_STUDENT_ID + random.nextInt(students);
+    }
+
+    public long randomMarkId(SplittableRandom random) {
+        return FIRST_MARK_ID + random.nextInt(students * SUBJECTS_PER_COURSE);
+    }
+
+    public LocalDate lastDay() {
+        return FIRST_DAY.plusDays(days - 1);
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> students = new ArrayList<>();
+        List<Object[]> marks = new ArrayList<>();
+        List<Object[]> attendance = new ArrayList<>();
+        long markId = FIRST_MARK_ID;
+        long attendanceId = FIRST_ATTENDANCE_ID;
+
+        for (int i = 0; i < this.students; i++) {
+            long studentId = FIRST_STUDENT_ID + i;
+            long courseId = 1 + i % 3;
+            students.add(new Object[]{studentId, "Student " + studentId, studentId + "@jmh.test", courseId});
+
+            for (int s = 1; s <= SUBJECTS_PER_COURSE; s++) {
+                long subjectId = (courseId - 1) * SUBJECTS_PER_COURSE + s;
+                marks.add(new Object[]{markId++, studentId, subjectId, 35 + random.nextInt(66)});
+            }
+            for (int d = 0; d < days; d++) {
+                if (random.nextInt(20) == 0) continue;
+                attendance.add(new Object[]{attendanceId++, studentId, FIRST_DAY.plusDays(d), random.nextBoolean()});
+            }
+
+            if (attendance.size() >= INSERT_CHUNK) {
+                flush(jdbc, students, marks, attendance);
+            }
+        }
+        flush(jdbc, students, marks, attendance);
+    }
+
+    private static void flush(JdbcTemplate jdbc, List<Object[]> students, List<Object[]> marks, List<Object[]> attendance) {
+        jdbc.batchUpdate("INSERT INTO student (id, name, email, course_id) VALUES (?, ?, ?, ?)", students);
+        jdbc.batchUpdate("INSERT INTO mark (id, student_id, subject_id, marks) VALUES (?, ?, ?, ?)", marks);
+        jdbc.batchUpdate("INSERT INTO attendance (id, student_id, date, present) VALUES (?, ?, ?, ?)", attendance);
+        students.clear();
+        marks.clear();
+        attendance.clear();
+    }
+}
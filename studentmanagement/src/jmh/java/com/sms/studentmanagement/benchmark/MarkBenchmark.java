@@ -0,0 +1,65 @@
+package com.sms.studentmanagement.benchmark;
+
+import com.sms.studentmanagement.controller.MarkController;
+import com.sms.studentmanagement.controller.MarkController.MarkUpdateDto;
+import com.sms.studentmanagement.entity.Mark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class MarkBenchmark {
+
+    @Param({"100"})
+    public int batchSize;
+
+    private final SplittableRandom random = new SplittableRandom(7);
+    private MarkController markController;
+    private List<MarkUpdateDto> batch;
+
+    @Setup(Level.Trial)
+    public void setUp(Dataset dataset) {
+        markController = dataset.bean(MarkController.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void nextBatch(Dataset dataset) {
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            MarkUpdateDto dto = new MarkUpdateDto();
+            dto.setMarkId(dataset.randomMarkId(random));
+            dto.setMarks(35 + random.nextInt(66));
+            batch.add(dto);
+        }
+    }
+
+    @Benchmark
+    public MarkController.StudentMarksResponse getStudentMarksDetails(Dataset dataset) {
+        return markController.getStudentMarksDetails(dataset.randomStudentId(random));
+    }
+
+    /** Updates {@code batchSize} existing marks in one transaction. */
+    @Benchmark
+    public List<Mark> updateMarksBulk() {
+        return markController.updateMarksBulk(batch);
+    }
+}
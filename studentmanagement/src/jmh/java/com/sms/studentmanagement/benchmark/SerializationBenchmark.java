@@ -0,0 +1,76 @@
+package com.sms.studentmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sms.studentmanagement.controller.AttendanceController;
+import com.sms.studentmanagement.controller.MarkController;
+import com.sms.studentmanagement.entity.Attendance;
+import com.sms.studentmanagement.entity.Mark;
+import com.sms.studentmanagement.entity.Student;
+import com.sms.studentmanagement.repository.StudentRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost alone: the entity graphs are loaded once, then written with the application's
+ * ObjectMapper the way the controllers' responses are.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private List<Student> students;
+    private List<Mark> marks;
+    private List<Attendance> attendanceForDay;
+
+    @Setup(Level.Trial)
+    public void load(Dataset dataset) {
+        objectMapper = dataset.bean(ObjectMapper.class);
+
+        // Serialize once inside a session, as open-in-view does for a request, so lazy
+        // collections (Course.subjects) are initialized and the benchmarks measure Jackson only
+        new TransactionTemplate(dataset.bean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            students = dataset.bean(StudentRepository.class).findAll();
+            marks = dataset.bean(MarkController.class).getAllMarks();
+            attendanceForDay = dataset.bean(AttendanceController.class).getAttendanceByDate(dataset.lastDay().toString());
+            try {
+                objectMapper.writeValueAsBytes(List.of(students, marks, attendanceForDay));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Benchmark
+    public byte[] students() throws Exception {
+        return objectMapper.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public byte[] marks() throws Exception {
+        return objectMapper.writeValueAsBytes(marks);
+    }
+
+    @Benchmark
+    public byte[] attendanceByDate() throws Exception {
+        return objectMapper.writeValueAsBytes(attendanceForDay);
+    }
+}
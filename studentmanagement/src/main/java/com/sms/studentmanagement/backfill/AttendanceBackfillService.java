@@ -0,0 +1,157 @@
+package com.sms.studentmanagement.backfill;
+
+import com.sms.studentmanagement.bitmap.AttendanceBitmapIndex;
+import com.sms.studentmanagement.repository.StudentRepository;
+import com.sms.studentmanagement.summary.AttendanceSummaryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives a newly created student an absent row for every date already in the attendance calendar,
+ * off the request thread. Jobs run on a small fixed pool with a bounded queue; when the queue is full
+ * the job is reported as FAILED (never run on the caller) and GET/POST /api/attendance/initialize
+ * fills the gap.
+ */
+@Service
+public class AttendanceBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendanceBackfillService.class);
+
+    // A concurrent mark for the same (student, date) can win the race against the INSERT ... SELECT
+    private static final int MAX_ATTEMPTS = 3;
+    // Finished entries are dropped past this size so the map does not grow with every student ever created
+    private static final int MAX_TRACKED = 10_000;
+
+    private final AttendanceSummaryService summaryService;
+    private final AttendanceBitmapIndex bitmapIndex;
+    private final StudentRepository studentRepo;
+    private final TransactionTemplate tx;
+    // Owned here rather than exposed as an Executor bean, which would displace Boot's applicationTaskExecutor
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final Map<Long, BackfillStatus> statuses = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Counter rowsInserted;
+
+    public AttendanceBackfillService(AttendanceSummaryService summaryService,
+                                     AttendanceBitmapIndex bitmapIndex,
+                                     StudentRepository studentRepo,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.backfill.threads:2}") int threads,
+                                     @Value("${app.backfill.queue-capacity:1000}") int queueCapacity,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                     MeterRegistry meterRegistry) {
+        this.summaryService = summaryService;
+        this.bitmapIndex = bitmapIndex;
+        this.studentRepo = studentRepo;
+        this.tx = new TransactionTemplate(transactionManager);
+        executor.setThreadNamePrefix("attendance-backfill-");
+        if (virtualThreads) {
+            // Still a fixed number of workers, so the backfill cannot take more than `threads` connections
+            executor.setThreadFactory(Thread.ofVirtual().name("attendance-backfill-", 0).factory());
+        }
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        this.meterRegistry = meterRegistry;
+        this.rowsInserted = Counter.builder("attendance.backfill.rows")
+                .description("Absent attendance rows inserted by the new-student backfill")
+                .register(meterRegistry);
+        Gauge.builder("attendance.backfill.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Backfill jobs waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @EventListener
+    public void onStudentCreated(StudentCreatedEvent event) {
+        Long studentId = event.studentId();
+        BackfillStatus status = new BackfillStatus(studentId, BackfillStatus.State.QUEUED);
+        track(status);
+        try {
+            executor.execute(() -> backfill(status));
+        } catch (TaskRejectedException e) {
+            status.failed("Backfill queue is full; run /api/attendance/initialize");
+            countJob("rejected");
+            log.warn("Attendance backfill for student {} rejected: queue full", studentId);
+        }
+    }
+
+    public BackfillStatus getStatus(Long studentId) {
+        BackfillStatus status = statuses.get(studentId);
+        if (status != null) return status;
+        if (!studentRepo.existsById(studentId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found with id " + studentId);
+        }
+        return new BackfillStatus(studentId, BackfillStatus.State.NOT_TRACKED);
+    }
+
+    private void backfill(BackfillStatus status) {
+        Long studentId = status.getStudentId();
+        status.running();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Integer inserted = tx.execute(s -> {
+                    bitmapIndex.recordMissingAbsencesForStudent(studentId);
+                    return summaryService.insertMissingAbsencesForStudent(studentId);
+                });
+                status.completed(inserted == null ? 0 : inserted);
+                rowsInserted.increment(status.getInserted());
+                countJob("completed");
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (!studentRepo.existsById(studentId)) {
+                    status.failed("Student was deleted");
+                    countJob("failed");
+                    return;
+                }
+                if (attempt >= MAX_ATTEMPTS) {
+                    status.failed(e.getMostSpecificCause().getMessage());
+                    log.warn("Attendance backfill for student {} failed", studentId, e);
+                    countJob("failed");
+                    return;
+                }
+            } catch (RuntimeException e) {
+                status.failed(e.getMessage());
+                log.warn("Attendance backfill for student {} failed", studentId, e);
+                countJob("failed");
+                return;
+            }
+        }
+    }
+
+    private void countJob(String outcome) {
+        meterRegistry.counter("attendance.backfill.jobs", "outcome", outcome).increment();
+    }
+
+    private void track(BackfillStatus status) {
+        if (statuses.size() >= MAX_TRACKED) {
+            statuses.values().removeIf(BackfillStatus::isFinished);
+        }
+        statuses.put(status.getStudentId(), status);
+    }
+}
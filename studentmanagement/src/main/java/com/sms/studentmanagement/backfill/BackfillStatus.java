@@ -0,0 +1,48 @@
+package com.sms.studentmanagement.backfill;
+
+import java.time.Instant;
+
+/**
+ * Progress of the absent-attendance backfill for one student.
+ */
+public class BackfillStatus {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED, NOT_TRACKED }
+
+    private final Long studentId;
+    private volatile State state;
+    private volatile int inserted;
+    private volatile String error;
+    private final Instant queuedAt;
+    private volatile Instant finishedAt;
+
+    BackfillStatus(Long studentId, State state) {
+        this.studentId = studentId;
+        this.state = state;
+        this.queuedAt = state == State.NOT_TRACKED ? null : Instant.now();
+    }
+
+    void running() { state = State.RUNNING; }
+
+    void completed(int inserted) {
+        this.inserted = inserted;
+        this.finishedAt = Instant.now();
+        this.state = State.COMPLETED;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.state = State.FAILED;
+    }
+
+    boolean isFinished() { return state == State.COMPLETED || state == State.FAILED; }
+
+    // Getters
+    public Long getStudentId() { return studentId; }
+    public State getState() { return state; }
+    public int getInserted() { return inserted; }
+    public String getError() { return error; }
+    public Instant getQueuedAt() { return queuedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+}
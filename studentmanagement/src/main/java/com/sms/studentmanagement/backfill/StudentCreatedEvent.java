@@ -0,0 +1,7 @@
+package com.sms.studentmanagement.backfill;
+
+/**
+ * Published once a new student row has been committed.
+ */
+public record StudentCreatedEvent(Long studentId) {
+}
@@ -0,0 +1,313 @@
+package com.sms.studentmanagement.bitmap;
+
+import com.sms.studentmanagement.dto.AttendanceDayCountDto;
+import com.sms.studentmanagement.dto.AttendanceIndexQueryDto;
+import com.sms.studentmanagement.repository.AttendanceRepository;
+import com.sms.studentmanagement.repository.StudentRepository;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory attendance index over dense student ordinals: for every date on record one Roaring
+ * bitmap of the students with a row that day and one of those marked present, plus the members
+ * of each course. Set-algebra queries (see BitmapQuery) are answered from memory alone.
+ *
+ * Loaded when the application is ready and kept in step by the attendance writers; a change made
+ * inside a transaction is applied once it commits. reload() rebuilds everything from the tables
+ * and swaps the result in.
+ */
+@Service
+public class AttendanceBitmapIndex {
+
+    private final AttendanceRepository attendanceRepo;
+    private final StudentRepository studentRepo;
+    private final TransactionTemplate readTx;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object reloading = new Object();
+
+    // Guarded by lock; replaced wholesale by reload()
+    private Bitmaps bitmaps = new Bitmaps();
+    // Changes applied while a reload is scanning, replayed onto the rebuilt bitmaps; null otherwise
+    private List<Consumer<Bitmaps>> pending;
+
+    public AttendanceBitmapIndex(AttendanceRepository attendanceRepo,
+                                 StudentRepository studentRepo,
+                                 PlatformTransactionManager transactionManager) {
+        this.attendanceRepo = attendanceRepo;
+        this.studentRepo = studentRepo;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+    }
+
+    private static final class Day {
+        final RoaringBitmap recorded = new RoaringBitmap();
+        final RoaringBitmap present = new RoaringBitmap();
+    }
+
+    private static final class Bitmaps {
+        final Map<Long, Integer> ordinals = new HashMap<>();
+        long[] studentIds = new long[1024];
+        final RoaringBitmap students = new RoaringBitmap();
+        final Map<Long, RoaringBitmap> courses = new HashMap<>();
+        final NavigableMap<LocalDate, Day> days = new TreeMap<>();
+
+        int ordinal(Long studentId) {
+            return ordinals.computeIfAbsent(studentId, id -> {
+                int ordinal = ordinals.size();
+                if (ordinal == studentIds.length) {
+                    studentIds = Arrays.copyOf(studentIds, ordinal * 2);
+                }
+                studentIds[ordinal] = id;
+                return ordinal;
+            });
+        }
+
+        Day day(LocalDate date) {
+            return days.computeIfAbsent(date, d -> new Day());
+        }
+
+        void setCell(Long studentId, LocalDate date, boolean present) {
+            int ordinal = ordinal(studentId);
+            Day day = day(date);
+            day.recorded.add(ordinal);
+            if (present) {
+                day.present.add(ordinal);
+            } else {
+                day.present.remove(ordinal);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Rebuilds the index from the student and attendance tables and returns the number of
+     * attendance rows read. The tables are scanned without holding the lock, so queries and
+     * writers carry on against the old bitmaps; changes committed meanwhile are replayed onto
+     * the new ones before they are swapped in, so nothing committed during the reload is lost.
+     */
+    public int reload() {
+        synchronized (reloading) {
+            lock.writeLock().lock();
+            pending = new ArrayList<>();
+            lock.writeLock().unlock();
+            try {
+                Bitmaps rebuilt = new Bitmaps();
+                int rows = readTx.execute(status -> {
+                    loadStudents(rebuilt);
+                    int[] count = {0};
+                    try (Stream<Object[]> stream = attendanceRepo.streamAllForExport()) {
+                        stream.forEach(row -> {
+                            // id, student id, date, present
+                            rebuilt.setCell((Long) row[1], (LocalDate) row[2], (Boolean) row[3]);
+                            count[0]++;
+                        });
+                    }
+                    return count[0];
+                });
+
+                rebuilt.students.runOptimize();
+                rebuilt.courses.values().forEach(RoaringBitmap::runOptimize);
+                rebuilt.days.values().forEach(day -> {
+                    day.recorded.runOptimize();
+                    day.present.runOptimize();
+                });
+
+                lock.writeLock().lock();
+                try {
+                    // Replays are idempotent and in commit order, so ones the scan already saw are harmless
+                    pending.forEach(change -> change.accept(rebuilt));
+                    bitmaps = rebuilt;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                return rows;
+            } finally {
+                lock.writeLock().lock();
+                pending = null;
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /** Re-reads student ids and course membership, e.g. after students were inserted with plain JDBC. */
+    public void reloadStudents() {
+        write(b -> {
+            b.students.clear();
+            b.courses.clear();
+            loadStudents(b);
+        });
+    }
+
+    public void addStudent(Long studentId, Long courseId) {
+        afterCommit(b -> {
+            int ordinal = b.ordinal(studentId);
+            b.students.add(ordinal);
+            if (courseId != null) {
+                b.courses.computeIfAbsent(courseId, id -> new RoaringBitmap()).add(ordinal);
+            }
+        });
+    }
+
+    // The ordinal is kept, so cells recorded for the student stay in place but drop out of absent()
+    public void removeStudent(Long studentId) {
+        afterCommit(b -> {
+            Integer ordinal = b.ordinals.get(studentId);
+            if (ordinal != null) {
+                b.students.remove(ordinal);
+                b.courses.values().forEach(members -> members.remove(ordinal));
+            }
+        });
+    }
+
+    public void recordCell(Long studentId, LocalDate date, boolean present) {
+        afterCommit(b -> b.setCell(studentId, date, present));
+    }
+
+    /** Cells as (studentId, date, present) rows; one update of the index for the whole batch. */
+    public void recordCells(Collection<Object[]> cells) {
+        List<Object[]> copy = List.copyOf(cells);
+        afterCommit(b -> copy.forEach(cell -> b.setCell((Long) cell[0], (LocalDate) cell[1], (Boolean) cell[2])));
+    }
+
+    // Mirrors of the AttendanceRepository.insertMissingAbsences* backfills: every student gets
+    // a row on every date on record (or the given date), absent where none existed
+
+    public void recordMissingAbsences() {
+        afterCommit(b -> b.days.values().forEach(day -> day.recorded.or(b.students)));
+    }
+
+    public void recordMissingAbsencesForDate(LocalDate date) {
+        afterCommit(b -> b.day(date).recorded.or(b.students));
+    }
+
+    public void recordMissingAbsencesForStudent(Long studentId) {
+        afterCommit(b -> {
+            int ordinal = b.ordinal(studentId);
+            b.days.values().forEach(day -> day.recorded.add(ordinal));
+        });
+    }
+
+    /** Evaluates a BitmapQuery expression; at most limit matching student ids are listed. */
+    public AttendanceIndexQueryDto query(String expression, int limit) {
+        BitmapQuery.Expr expr = BitmapQuery.parse(expression);
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = expr.evaluate(this);
+            List<Long> ids = new ArrayList<>(Math.min(limit, result.getCardinality()));
+            IntIterator it = result.getIntIterator();
+            while (it.hasNext() && ids.size() < limit) {
+                ids.add(bitmaps.studentIds[it.next()]);
+            }
+            return new AttendanceIndexQueryDto(expression, result.getCardinality(), ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Per-day counts for the dates on record in [from, to], optionally for one course and weekday. */
+    public List<AttendanceDayCountDto> dayCounts(LocalDate from, LocalDate to, Long courseId, DayOfWeek dayOfWeek) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap scope = courseId == null ? bitmaps.students : course(courseId);
+            int members = scope.getCardinality();
+            List<AttendanceDayCountDto> counts = new ArrayList<>();
+            bitmaps.days.subMap(from, true, to, true).forEach((date, day) -> {
+                if (dayOfWeek == null || date.getDayOfWeek() == dayOfWeek) {
+                    int present = RoaringBitmap.andCardinality(day.present, scope);
+                    int recorded = RoaringBitmap.andCardinality(day.recorded, scope);
+                    counts.add(new AttendanceDayCountDto(date, present, members - present, recorded));
+                }
+            });
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Operands for BitmapQuery; called with the read lock held and never modified by the caller
+
+    RoaringBitmap all() {
+        return bitmaps.students;
+    }
+
+    RoaringBitmap course(Long courseId) {
+        return bitmaps.courses.getOrDefault(courseId, new RoaringBitmap());
+    }
+
+    RoaringBitmap recordedOn(LocalDate date) {
+        Day day = bitmaps.days.get(date);
+        return day == null ? new RoaringBitmap() : day.recorded;
+    }
+
+    RoaringBitmap presentOn(LocalDate date) {
+        Day day = bitmaps.days.get(date);
+        return day == null ? new RoaringBitmap() : day.present;
+    }
+
+    // Students without a present mark, as getAttendanceByDate reports them; empty for dates not on record
+    RoaringBitmap absentOn(LocalDate date) {
+        Day day = bitmaps.days.get(date);
+        return day == null ? new RoaringBitmap() : RoaringBitmap.andNot(bitmaps.students, day.present);
+    }
+
+    private void loadStudents(Bitmaps b) {
+        studentRepo.findIdsWithCourseId().forEach(row -> {
+            int ordinal = b.ordinal((Long) row[0]);
+            b.students.add(ordinal);
+            if (row[1] != null) {
+                b.courses.computeIfAbsent((Long) row[1], id -> new RoaringBitmap()).add(ordinal);
+            }
+        });
+    }
+
+    private void afterCommit(Consumer<Bitmaps> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(change);
+                }
+            });
+        } else {
+            write(change);
+        }
+    }
+
+    private void write(Consumer<Bitmaps> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(bitmaps);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
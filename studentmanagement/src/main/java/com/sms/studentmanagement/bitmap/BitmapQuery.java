@@ -0,0 +1,170 @@
+package com.sms.studentmanagement.bitmap;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Set-algebra expressions over AttendanceBitmapIndex, evaluated to a set of students.
+ *
+ *   present(2025-08-01)   marked present that day
+ *   absent(2025-08-01)    not marked present, for a date on record (as getAttendanceByDate reports it)
+ *   recorded(2025-08-01)  has an attendance row that day
+ *   course(1)             members of the course
+ *   all                   every student
+ *
+ * Operators are & (and), | (or) and - (and not), with parentheses for grouping. & binds tighter
+ * than | and -, which associate left: "a | b - c & d" is "(a | b) - (c & d)".
+ * Invalid input throws IllegalArgumentException.
+ */
+final class BitmapQuery {
+
+    static final int MAX_LENGTH = 4096;
+
+    @FunctionalInterface
+    interface Expr {
+        RoaringBitmap evaluate(AttendanceBitmapIndex index);
+    }
+
+    private final String text;
+    private int pos;
+
+    private BitmapQuery(String text) {
+        this.text = text;
+    }
+
+    static Expr parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Query is empty");
+        }
+        if (text.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Query is longer than " + MAX_LENGTH + " characters");
+        }
+        BitmapQuery parser = new BitmapQuery(text);
+        Expr expr = parser.union();
+        parser.skipSpaces();
+        if (parser.pos < text.length()) {
+            throw parser.error("Unexpected '" + text.charAt(parser.pos) + "'");
+        }
+        return expr;
+    }
+
+    private Expr union() {
+        Expr left = intersection();
+        while (true) {
+            if (accept('|')) {
+                Expr l = left, r = intersection();
+                left = index -> RoaringBitmap.or(l.evaluate(index), r.evaluate(index));
+            } else if (accept('-')) {
+                Expr l = left, r = intersection();
+                left = index -> RoaringBitmap.andNot(l.evaluate(index), r.evaluate(index));
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expr intersection() {
+        Expr left = term();
+        while (accept('&')) {
+            Expr l = left, r = term();
+            left = index -> RoaringBitmap.and(l.evaluate(index), r.evaluate(index));
+        }
+        return left;
+    }
+
+    private Expr term() {
+        if (accept('(')) {
+            Expr inner = union();
+            expect(')');
+            return inner;
+        }
+
+        String name = word();
+        if (name.equals("all")) {
+            return AttendanceBitmapIndex::all;
+        }
+        expect('(');
+        int start = pos;
+        while (pos < text.length() && text.charAt(pos) != ')') {
+            pos++;
+        }
+        String arg = text.substring(start, pos).trim();
+        expect(')');
+
+        switch (name) {
+            case "present": {
+                LocalDate date = date(arg);
+                return index -> index.presentOn(date);
+            }
+            case "absent": {
+                LocalDate date = date(arg);
+                return index -> index.absentOn(date);
+            }
+            case "recorded": {
+                LocalDate date = date(arg);
+                return index -> index.recordedOn(date);
+            }
+            case "course": {
+                Long courseId = id(arg);
+                return index -> index.course(courseId);
+            }
+            default:
+                throw error("Unknown operand '" + name + "'");
+        }
+    }
+
+    private String word() {
+        skipSpaces();
+        int start = pos;
+        while (pos < text.length() && Character.isLetter(text.charAt(pos))) {
+            pos++;
+        }
+        if (start == pos) {
+            throw error(pos < text.length() ? "Unexpected '" + text.charAt(pos) + "'" : "Unexpected end of query");
+        }
+        return text.substring(start, pos).toLowerCase();
+    }
+
+    private LocalDate date(String arg) {
+        try {
+            return LocalDate.parse(arg);
+        } catch (DateTimeParseException e) {
+            throw error("date must be yyyy-MM-dd: '" + arg + "'");
+        }
+    }
+
+    private Long id(String arg) {
+        try {
+            return Long.valueOf(arg);
+        } catch (NumberFormatException e) {
+            throw error("course id must be a number: '" + arg + "'");
+        }
+    }
+
+    private boolean accept(char c) {
+        skipSpaces();
+        if (pos < text.length() && text.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!accept(c)) {
+            throw error("Expected '" + c + "'");
+        }
+    }
+
+    private void skipSpaces() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos);
+    }
+}
@@ -0,0 +1,114 @@
+package com.sms.studentmanagement.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches serialized JSON responses for rarely-changing listings (courses, subjects) together
+ * with a strong ETag, so repeat requests skip the query and serialization entirely and
+ * conditional requests get 304 Not Modified. Empty results are served but not kept, so lookups
+ * for ids that do not exist cannot fill the cache.
+ */
+@Component
+public class JsonResponseCache {
+
+    static final int MAX_ENTRIES = 1_000;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> entries = Caffeine.newBuilder().maximumSize(MAX_ENTRIES).build();
+    // Bumped on every invalidation so a load that raced with a write is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    public JsonResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public ResponseEntity<byte[]> get(String key, String ifNoneMatch, Supplier<?> loader) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            long loadedAt = generation.get();
+            Object value = loader.get();
+            entry = serialize(value);
+            boolean empty = value instanceof Collection<?> c && c.isEmpty();
+            if (!empty && generation.get() == loadedAt) {
+                entries.put(key, entry);
+            }
+        }
+
+        if (matches(ifNoneMatch, entry.etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(entry.etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(entry.etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.json);
+    }
+
+    /** Drops every cached response, again after commit when called inside a transaction. */
+    public void invalidateAll() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        entries.invalidateAll();
+    }
+
+    // If-None-Match is "*" or a comma-separated list of entity tags, compared weakly (RFC 9110 13.1.2)
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Entry serialize(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            String etag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+            return new Entry(json, etag);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to serialize response", e);
+        }
+    }
+
+    private record Entry(byte[] json, String etag) {
+    }
+}
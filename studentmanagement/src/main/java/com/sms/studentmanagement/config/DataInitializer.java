@@ -1,48 +1,115 @@
 // src/main/java/com/sms/studentmanagement/config/DataInitializer.java
 package com.sms.studentmanagement.config;
 
+import com.sms.studentmanagement.bitmap.AttendanceBitmapIndex;
 import com.sms.studentmanagement.entity.Attendance;
 import com.sms.studentmanagement.entity.Student;
 import com.sms.studentmanagement.repository.AttendanceRepository;
 import com.sms.studentmanagement.repository.StudentRepository;
+import com.sms.studentmanagement.summary.AttendanceSummaryService;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 @Configuration
 public class DataInitializer {
 
+    // Rows persisted per transaction; each flush goes out as hibernate.jdbc.batch_size batches
+    private static final int SEED_CHUNK_SIZE = 1000;
+    private static final LocalDate SEED_START_DATE = LocalDate.of(2025, 7, 26);
+
     @Bean
-    public CommandLineRunner initData(StudentRepository studentRepo, AttendanceRepository attendanceRepo) {
+    public CommandLineRunner initData(StudentRepository studentRepo,
+                                      AttendanceRepository attendanceRepo,
+                                      AttendanceSummaryService summaryService,
+                                      AttendanceBitmapIndex bitmapIndex,
+                                      EntityManager entityManager,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${app.seed.attendance.enabled:true}") boolean enabled,
+                                      @Value("${app.seed.attendance.async:false}") boolean async,
+                                      @Value("${app.seed.attendance.random-seed:42}") long randomSeed,
+                                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         return args -> {
-            List<Student> students = studentRepo.findAll();
-            if (students.isEmpty()) return;
+            if (!enabled) return;
+
+            Runnable seeding = () -> seedAttendance(studentRepo, attendanceRepo, summaryService, bitmapIndex, entityManager,
+                    new TransactionTemplate(transactionManager), new Random(randomSeed));
+
+            if (async) {
+                // Let the application report ready while the calendar is being filled
+                Thread.Builder seeder = virtualThreads
+                        ? Thread.ofVirtual().name("attendance-seeder")
+                        : Thread.ofPlatform().name("attendance-seeder").daemon(true);
+                seeder.start(seeding);
+            } else {
+                seeding.run();
+            }
+        };
+    }
 
-            LocalDate startDate = LocalDate.of(2025, 7, 26);
-            LocalDate today = LocalDate.now();
-            Random random = new Random();
+    private void seedAttendance(StudentRepository studentRepo,
+                                AttendanceRepository attendanceRepo,
+                                AttendanceSummaryService summaryService,
+                                AttendanceBitmapIndex bitmapIndex,
+                                EntityManager entityManager,
+                                TransactionTemplate tx,
+                                Random random) {
+        List<Student> students = studentRepo.findAll();
+        if (students.isEmpty()) return;
 
-            for (LocalDate date = startDate; !date.isAfter(today); date = date.plusDays(1)) {
-                for (Student s : students) {
-                    boolean present = random.nextBoolean();
+        LocalDate today = LocalDate.now();
+
+        // One query for what is already there instead of an existsBy per cell
+        Set<String> existing = new HashSet<>();
+        attendanceRepo.findStudentDatePairsFrom(SEED_START_DATE)
+                .forEach(row -> existing.add(row[0] + "@" + row[1]));
+
+        List<LocalDate> dates = SEED_START_DATE.datesUntil(today.plusDays(1)).toList();
+        int created = 0;
+
+        for (int from = 0; from < dates.size(); ) {
+            // Pack whole days into a chunk of roughly SEED_CHUNK_SIZE rows
+            int to = Math.min(dates.size(), from + Math.max(1, SEED_CHUNK_SIZE / students.size()));
+            List<LocalDate> chunk = dates.subList(from, to);
+
+            created += tx.execute(status -> {
+                AttendanceSummaryService.Deltas deltas = new AttendanceSummaryService.Deltas();
+                List<Object[]> cells = new ArrayList<>();
+                for (LocalDate date : chunk) {
+                    for (Student s : students) {
+                        boolean present = random.nextBoolean();
+                        if (existing.contains(s.getId() + "@" + date)) continue;
 
-                    // Skip if already exists
-                    boolean exists = attendanceRepo.existsByStudentIdAndDate(s.getId(), date);
-                    if (!exists) {
                         Attendance a = new Attendance();
                         a.setDate(date);
-                        a.setStudent(s);
+                        a.setStudent(entityManager.getReference(Student.class, s.getId()));
                         a.setPresent(present);
-                        attendanceRepo.save(a);
+                        entityManager.persist(a);
+                        deltas.add(s.getId(), date, null, present);
+                        cells.add(new Object[]{s.getId(), date, present});
                     }
                 }
-            }
+                entityManager.flush();
+                entityManager.clear();
+                summaryService.apply(deltas);
+                bitmapIndex.recordCells(cells);
+                return cells.size();
+            });
+            from = to;
+        }
 
-            System.out.println("✅ Dynamic attendance records generated from 26/07/2025 to " + today);
-        };
+        System.out.println("✅ Dynamic attendance records generated from 26/07/2025 to " + today
+                + " (" + created + " created)");
     }
 }
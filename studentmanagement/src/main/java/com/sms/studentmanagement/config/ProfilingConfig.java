@@ -0,0 +1,46 @@
+package com.sms.studentmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sms.studentmanagement.profiling.ProfilingJackson2HttpMessageConverter;
+import com.sms.studentmanagement.profiling.ProfilingSessionEventListener;
+import com.sms.studentmanagement.profiling.ProfilingStatementInspector;
+import com.sms.studentmanagement.profiling.RequestProfilingFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Opt-in request profiler (app.profiler.enabled): nothing here is registered when it is off
+@Configuration
+@ConditionalOnProperty(name = "app.profiler.enabled", havingValue = "true")
+public class ProfilingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer profilingHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, ProfilingStatementInspector.class.getName());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, ProfilingSessionEventListener.class.getName());
+        };
+    }
+
+    // Replaces Boot's default JSON converter
+    @Bean
+    public ProfilingJackson2HttpMessageConverter profilingJacksonConverter(ObjectMapper objectMapper) {
+        return new ProfilingJackson2HttpMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestProfilingFilter> requestProfilingFilter(
+            @Value("${app.profiler.slow-request-ms:500}") long slowRequestMillis,
+            @Value("${app.profiler.max-logged-statements:50}") int maxLoggedStatements) {
+        FilterRegistrationBean<RequestProfilingFilter> registration =
+                new FilterRegistrationBean<>(new RequestProfilingFilter(slowRequestMillis, maxLoggedStatements));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
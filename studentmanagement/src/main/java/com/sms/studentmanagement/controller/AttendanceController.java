@@ -1,14 +1,49 @@
 package com.sms.studentmanagement.controller;
 
+import com.sms.studentmanagement.bitmap.AttendanceBitmapIndex;
+import com.sms.studentmanagement.dto.AttendanceBulkDto;
+import com.sms.studentmanagement.dto.AttendanceDayCountDto;
+import com.sms.studentmanagement.dto.AttendanceDefaulter;
+import com.sms.studentmanagement.dto.AttendanceIndexQueryDto;
+import com.sms.studentmanagement.dto.AttendanceMatrixDto;
+import com.sms.studentmanagement.dto.AttendanceSummaryDto;
+import com.sms.studentmanagement.dto.ScrollPage;
 import com.sms.studentmanagement.entity.Attendance;
+import com.sms.studentmanagement.entity.AttendanceSummary;
 import com.sms.studentmanagement.entity.Student;
 import com.sms.studentmanagement.repository.AttendanceRepository;
+import com.sms.studentmanagement.repository.AttendanceSummaryRepository;
 import com.sms.studentmanagement.repository.StudentRepository;
+import com.sms.studentmanagement.summary.AttendanceSummaryService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -16,37 +51,52 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "http://localhost:3000")
 public class AttendanceController {
 
+    private static final int MARK_MAX_ATTEMPTS = 3;
+    private static final int MAX_WINDOW_DAYS = 3660;
+
     private final AttendanceRepository attendanceRepo;
     private final StudentRepository studentRepo;
+    private final AttendanceSummaryRepository summaryRepo;
+    private final AttendanceSummaryService summaryService;
+    private final AttendanceBitmapIndex bitmapIndex;
+    private final TransactionTemplate tx;
 
-    public AttendanceController(AttendanceRepository attendanceRepo, StudentRepository studentRepo) {
+    public AttendanceController(AttendanceRepository attendanceRepo,
+                                StudentRepository studentRepo,
+                                AttendanceSummaryRepository summaryRepo,
+                                AttendanceSummaryService summaryService,
+                                AttendanceBitmapIndex bitmapIndex,
+                                PlatformTransactionManager transactionManager) {
         this.attendanceRepo = attendanceRepo;
         this.studentRepo = studentRepo;
+        this.summaryRepo = summaryRepo;
+        this.summaryService = summaryService;
+        this.bitmapIndex = bitmapIndex;
+        this.tx = new TransactionTemplate(transactionManager);
     }
 
     @GetMapping
     public List<Attendance> getAllAttendance() {
-        // Get all students and all attendance dates
+        // Read-only: a student with no row for a known date is reported as absent
+        // without persisting anything. Use /initialize to backfill those rows.
         List<Student> allStudents = studentRepo.findAll();
         List<LocalDate> allDates = attendanceRepo.findDistinctDates();
-        
-        // For each student, ensure they have attendance records for all dates
+        List<Attendance> recorded = attendanceRepo.findAll();
+
+        Map<Long, Set<LocalDate>> recordedDates = new HashMap<>();
+        recorded.forEach(a -> recordedDates
+                .computeIfAbsent(a.getStudent().getId(), id -> new HashSet<>())
+                .add(a.getDate()));
+
+        List<Attendance> result = new ArrayList<>(recorded);
         allStudents.forEach(student -> {
-            List<LocalDate> studentDates = attendanceRepo.findDatesByStudentId(student.getId());
-            List<LocalDate> missingDates = allDates.stream()
-                .filter(date -> !studentDates.contains(date))
-                .collect(Collectors.toList());
-                
-            missingDates.forEach(date -> {
-                Attendance attendance = new Attendance();
-                attendance.setStudent(student);
-                attendance.setDate(date);
-                attendance.setPresent(false); // Default to absent
-                attendanceRepo.save(attendance);
-            });
+            Set<LocalDate> studentDates = recordedDates.getOrDefault(student.getId(), Set.of());
+            allDates.stream()
+                    .filter(date -> !studentDates.contains(date))
+                    .forEach(date -> result.add(absent(student, date)));
         });
-        
-        return attendanceRepo.findAll();
+
+        return result;
     }
 
     @GetMapping("/student/{studentId}")
@@ -57,84 +107,344 @@ public class AttendanceController {
     @GetMapping("/date/{date}")
     public List<Attendance> getAttendanceByDate(@PathVariable String date) {
         LocalDate attendanceDate = LocalDate.parse(date);
-        
-        // Get all students
-        List<Student> allStudents = studentRepo.findAll();
-        
-        // For each student, check if they have attendance for this date
-        allStudents.forEach(student -> {
-            boolean hasAttendance = attendanceRepo.existsByStudentIdAndDate(student.getId(), attendanceDate);
-            if (!hasAttendance) {
-                Attendance attendance = new Attendance();
-                attendance.setStudent(student);
-                attendance.setDate(attendanceDate);
-                attendance.setPresent(false); // Default to absent
-                attendanceRepo.save(attendance);
+
+        List<Attendance> recorded = attendanceRepo.findByDate(attendanceDate);
+        Set<Long> recordedStudents = recorded.stream()
+                .map(a -> a.getStudent().getId())
+                .collect(Collectors.toSet());
+
+        // Students without a row for this date are reported as absent (not persisted)
+        List<Attendance> result = new ArrayList<>(recorded);
+        studentRepo.findAll().stream()
+                .filter(student -> !recordedStudents.contains(student.getId()))
+                .forEach(student -> result.add(absent(student, attendanceDate)));
+
+        return result;
+    }
+
+    // Paged variants walk the students (sorted/keyed by student) and report one cell each,
+    // with students missing a row for the date reported as absent like getAttendanceByDate.
+    @GetMapping("/date/{date}/page")
+    public Page<Attendance> getAttendanceByDatePage(@PathVariable String date, Pageable pageable) {
+        LocalDate attendanceDate = LocalDate.parse(date);
+        Page<Student> students = studentRepo.findAll(pageable);
+        return new PageImpl<>(cellsFor(attendanceDate, students.getContent()), pageable, students.getTotalElements());
+    }
+
+    @GetMapping("/date/{date}/scroll")
+    public ScrollPage<Attendance> scrollAttendanceByDate(@PathVariable String date,
+                                                         @RequestParam(defaultValue = "0") Long afterId,
+                                                         @RequestParam(defaultValue = "100") int size) {
+        LocalDate attendanceDate = LocalDate.parse(date);
+        int limit = ScrollPage.clampSize(size);
+        List<Student> students = studentRepo.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+        // nextAfterId is a student id
+        Long next = students.size() < limit ? null : students.get(students.size() - 1).getId();
+        return new ScrollPage<>(cellsFor(attendanceDate, students), next);
+    }
+
+    private List<Attendance> cellsFor(LocalDate date, List<Student> students) {
+        Set<Long> studentIds = students.stream().map(Student::getId).collect(Collectors.toSet());
+        Map<Long, Attendance> recorded = attendanceRepo.findByDateAndStudentIdIn(date, studentIds).stream()
+                .collect(Collectors.toMap(a -> a.getStudent().getId(), a -> a));
+        return students.stream()
+                .map(student -> recorded.getOrDefault(student.getId(), absent(student, date)))
+                .collect(Collectors.toList());
+    }
+
+    @GetMapping("/matrix")
+    public AttendanceMatrixDto getAttendanceMatrix(@RequestParam String from,
+                                                   @RequestParam String to,
+                                                   @RequestParam(required = false) Long courseId) {
+        LocalDate fromDate = LocalDate.parse(from);
+        LocalDate toDate = LocalDate.parse(to);
+        if (toDate.isBefore(fromDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' must not be before 'from'");
+        }
+        // Checked before casting: a bitset of this many days is allocated for every student up front
+        long span = ChronoUnit.DAYS.between(fromDate, toDate) + 1;
+        if (span > MAX_WINDOW_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "The range may span at most " + MAX_WINDOW_DAYS + " days");
+        }
+        int days = (int) span;
+
+        List<Long> studentIds = studentRepo.findIdsByCourseId(courseId);
+        Map<Long, BitSet> presence = new HashMap<>();
+        studentIds.forEach(id -> presence.put(id, new BitSet(days)));
+
+        attendanceRepo.findPresentCells(fromDate, toDate, courseId).forEach(row -> {
+            BitSet bits = presence.get((Long) row[0]);
+            if (bits != null) {
+                bits.set((int) ChronoUnit.DAYS.between(fromDate, (LocalDate) row[1]));
             }
         });
-        
-        return attendanceRepo.findByDate(attendanceDate);
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        List<String> encoded = studentIds.stream()
+                .map(id -> encoder.encodeToString(presence.get(id).toByteArray()))
+                .collect(Collectors.toList());
+
+        return new AttendanceMatrixDto(fromDate, toDate, days, studentIds, encoded);
     }
 
-    @PostMapping
+    // Also reachable as /mark, which the attendance page uses for rows it was sent without an id
+    @PostMapping({"", "/mark"})
     public Attendance markAttendance(@RequestParam Long studentId,
                                    @RequestParam String date,
                                    @RequestParam boolean present) {
-        Optional<Student> studentOpt = studentRepo.findById(studentId);
-        if (studentOpt.isEmpty()) {
-            throw new RuntimeException("Student not found");
+        LocalDate attendanceDate = LocalDate.parse(date);
+
+        // The old value is read under a row lock so the summary delta matches what was replaced.
+        // With no row yet the insert is strict: the unique (student_id, date) index makes a racing
+        // insert lose with a constraint violation, and the retry then sees the row and updates it.
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return tx.execute(status -> {
+                    Boolean previous = attendanceRepo.findPresentForUpdate(studentId, attendanceDate).orElse(null);
+                    Attendance saved = previous == null
+                            ? attendanceRepo.insertCell(studentId, attendanceDate, present)
+                            : attendanceRepo.upsert(studentId, attendanceDate, present);
+                    summaryService.recordCell(studentId, attendanceDate, previous, present);
+                    bitmapIndex.recordCell(studentId, attendanceDate, present);
+                    return saved;
+                });
+            } catch (DataIntegrityViolationException e) {
+                if (!studentRepo.existsById(studentId)) {
+                    throw new RuntimeException("Student not found");
+                }
+                if (attempt >= MARK_MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
         }
+    }
 
-        // Check if attendance already exists
-        LocalDate attendanceDate = LocalDate.parse(date);
-        Optional<Attendance> existing = attendanceRepo.findByStudentIdAndDate(studentId, attendanceDate);
-        
-        if (existing.isPresent()) {
-            // Update existing
-            Attendance attendance = existing.get();
-            attendance.setPresent(present);
-            return attendanceRepo.save(attendance);
-        } else {
-            // Create new
-            Attendance attendance = new Attendance();
-            attendance.setStudent(studentOpt.get());
-            attendance.setDate(attendanceDate);
-            attendance.setPresent(present);
-            return attendanceRepo.save(attendance);
+    @PutMapping("/bulk")
+    @Transactional
+    public Map<String, Integer> markAttendanceBulk(@RequestBody AttendanceBulkDto bulk) {
+        if (bulk.getDate() == null || bulk.getEntries() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "date and entries are required");
+        }
+
+        // Last entry wins if a student is listed twice
+        Map<Long, Boolean> marks = new LinkedHashMap<>();
+        bulk.getEntries().forEach(e -> marks.put(e.getStudentId(), e.isPresent()));
+
+        Set<Long> known = new HashSet<>(studentRepo.findExistingIds(marks.keySet()));
+        if (known.size() != marks.size()) {
+            List<Long> missing = marks.keySet().stream()
+                    .filter(id -> !known.contains(id))
+                    .collect(Collectors.toList());
+            throw new RuntimeException("Student not found: " + missing);
         }
+
+        // Existing cells are updated through dirty checking, new ones persisted;
+        // both are flushed as JDBC batches when the transaction commits.
+        AttendanceSummaryService.Deltas deltas = new AttendanceSummaryService.Deltas();
+        List<Object[]> cells = new ArrayList<>();
+        List<Attendance> existing = attendanceRepo.findByDateAndStudentIdInForUpdate(bulk.getDate(), marks.keySet());
+        existing.forEach(a -> {
+            boolean present = marks.remove(a.getStudent().getId());
+            deltas.add(a.getStudent().getId(), a.getDate(), a.isPresent(), present);
+            cells.add(new Object[]{a.getStudent().getId(), a.getDate(), present});
+            a.setPresent(present);
+        });
+
+        List<Attendance> created = marks.entrySet().stream()
+                .map(e -> {
+                    Attendance attendance = new Attendance();
+                    attendance.setStudent(studentRepo.getReferenceById(e.getKey()));
+                    attendance.setDate(bulk.getDate());
+                    attendance.setPresent(e.getValue());
+                    return attendance;
+                })
+                .collect(Collectors.toList());
+        attendanceRepo.saveAll(created);
+        created.forEach(a -> {
+            deltas.add(a.getStudent().getId(), a.getDate(), null, a.isPresent());
+            cells.add(new Object[]{a.getStudent().getId(), a.getDate(), a.isPresent()});
+        });
+        summaryService.apply(deltas);
+        bitmapIndex.recordCells(cells);
+
+        return Map.of("inserted", created.size(), "updated", existing.size());
     }
 
     @PutMapping("/{id}")
+    @Transactional
     public Attendance updateAttendance(@PathVariable Long id,
                                      @RequestParam boolean present) {
-        Attendance attendance = attendanceRepo.findById(id)
+        Attendance attendance = attendanceRepo.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Attendance record not found"));
+        summaryService.recordCell(attendance.getStudent().getId(), attendance.getDate(), attendance.isPresent(), present);
+        bitmapIndex.recordCell(attendance.getStudent().getId(), attendance.getDate(), present);
         attendance.setPresent(present);
         return attendanceRepo.save(attendance);
     }
 
-    @GetMapping("/initialize")
+    @RequestMapping(value = "/initialize", method = {RequestMethod.GET, RequestMethod.POST})
+    @Transactional
     public String initializeAttendanceForNewStudents() {
-        LocalDate currentDate = LocalDate.now();
-        List<LocalDate> allDates = attendanceRepo.findDistinctDates();
-        
-        if (allDates.isEmpty()) {
+        int created;
+        if (attendanceRepo.count() == 0) {
             // If no attendance records exist at all, create for today
-            allDates.add(currentDate);
+            created = summaryService.insertMissingAbsencesForDate(LocalDate.now());
+            bitmapIndex.recordMissingAbsencesForDate(LocalDate.now());
+        } else {
+            created = summaryService.insertMissingAbsences();
+            bitmapIndex.recordMissingAbsences();
         }
-        
-        studentRepo.findAll().forEach(student -> {
-            allDates.forEach(date -> {
-                if (!attendanceRepo.existsByStudentIdAndDate(student.getId(), date)) {
-                    Attendance attendance = new Attendance();
-                    attendance.setStudent(student);
-                    attendance.setDate(date);
-                    attendance.setPresent(false); // Default to absent
-                    attendanceRepo.save(attendance);
-                }
-            });
-        });
-        
-        return "Attendance records initialized for all students";
+
+        return "Attendance records initialized for all students (" + created + " created)";
+    }
+
+    // Students below threshold% attendance over the windowDays days ending asOf (default today).
+    // The denominator is every date on record in the window, as in getAttendanceByDate, so a day
+    // without a row for the student counts as absent and a student with no rows at all is at 0%
+    @GetMapping("/defaulters")
+    public List<AttendanceDefaulter> getDefaulters(@RequestParam(defaultValue = "75") double threshold,
+                                                   @RequestParam(defaultValue = "30") int windowDays,
+                                                   @RequestParam(required = false) Long courseId,
+                                                   @RequestParam(required = false) String asOf) {
+        if (threshold < 0 || threshold > 100 || windowDays < 1 || windowDays > MAX_WINDOW_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "threshold must be 0-100 and windowDays 1-" + MAX_WINDOW_DAYS);
+        }
+        LocalDate to, from, none;
+        try {
+            to = asOf == null ? LocalDate.now() : LocalDate.parse(asOf);
+            from = to.minusDays(windowDays - 1L);
+            none = to.plusDays(1); // start of an empty range ending at to
+        } catch (DateTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "asOf must be a date (yyyy-MM-dd)");
+        }
+
+        LocalDate firstMonth = from.withDayOfMonth(1);
+        LocalDate lastMonth = to.withDayOfMonth(1);
+        long total = attendanceRepo.countDatesOnRecord(from, windowDays);
+        if (total == 0) {
+            return List.of();
+        }
+        if (firstMonth.equals(lastMonth)) {
+            return defaulters(attendanceRepo.sumPresentByStudent(none, to, from, to, 1, none, to, 1),
+                    total, threshold, courseId);
+        }
+
+        // Months [monthsFrom, monthsTo] are read from attendance_summary. A partial month at either
+        // edge is read as the rows inside the window or, when that is the larger part, as the
+        // month's summary less the rows outside the window, so at most half a month of rows per edge
+        LocalDate monthsFrom = firstMonth, headFrom = none, headTo = to;
+        int headSign = 1;
+        if (from.getDayOfMonth() > 1) {
+            if (from.lengthOfMonth() - from.getDayOfMonth() + 1 <= from.getDayOfMonth() - 1) {
+                headFrom = from;
+                headTo = from.withDayOfMonth(from.lengthOfMonth());
+                monthsFrom = firstMonth.plusMonths(1);
+            } else {
+                headFrom = firstMonth;
+                headTo = from.minusDays(1);
+                headSign = -1;
+            }
+        }
+
+        LocalDate monthsTo = lastMonth, tailFrom = none, tailTo = to;
+        int tailSign = 1;
+        if (to.getDayOfMonth() < to.lengthOfMonth()) {
+            if (to.getDayOfMonth() <= to.lengthOfMonth() - to.getDayOfMonth()) {
+                tailFrom = lastMonth;
+                monthsTo = lastMonth.minusMonths(1);
+            } else {
+                tailFrom = to.plusDays(1);
+                tailTo = to.withDayOfMonth(to.lengthOfMonth());
+                tailSign = -1;
+            }
+        }
+        return defaulters(attendanceRepo.sumPresentByStudent(monthsFrom, monthsTo, headFrom, headTo, headSign,
+                tailFrom, tailTo, tailSign), total, threshold, courseId);
+    }
+
+    // Every student in scope against the shared total; presentRows only lists students present at least once
+    private List<AttendanceDefaulter> defaulters(List<Object[]> presentRows, long total,
+                                                 double threshold, Long courseId) {
+        Map<Long, Long> presentByStudent = new HashMap<>();
+        for (Object[] row : presentRows) {
+            presentByStudent.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        List<AttendanceDefaulter> result = new ArrayList<>();
+        for (Object[] s : studentRepo.findIdNameAndCourse(courseId)) {
+            long present = presentByStudent.getOrDefault((Long) s[0], 0L);
+            if (100.0 * present < threshold * total) {
+                double percentage = BigDecimal.valueOf(100 * present)
+                        .divide(BigDecimal.valueOf(total), 2, RoundingMode.HALF_UP).doubleValue();
+                result.add(new AttendanceDefaulter((Long) s[0], (String) s[1], (Long) s[2], (String) s[3],
+                        present, total, percentage));
+            }
+        }
+        // Students come in id order, so a stable sort keeps ties by id
+        result.sort(Comparator.comparing(AttendanceDefaulter::getPercentage));
+        return result;
+    }
+
+    // Present/total per student from attendance_summary: one row per student and month,
+    // never the attendance rows themselves (?studentId= or ?courseId= to narrow)
+    @GetMapping("/summary")
+    public List<AttendanceSummaryDto> getAttendanceSummary(@RequestParam(required = false) Long studentId,
+                                                           @RequestParam(required = false) Long courseId) {
+        List<AttendanceSummary> rows = studentId != null ? summaryRepo.findByStudentIdOrderByMonthStartAsc(studentId)
+                : courseId != null ? summaryRepo.findByCourseId(courseId)
+                : summaryRepo.findAllByOrderByStudentIdAscMonthStartAsc();
+
+        Map<Long, AttendanceSummaryDto> byStudent = new LinkedHashMap<>();
+        rows.forEach(row -> byStudent
+                .computeIfAbsent(row.getStudentId(), AttendanceSummaryDto::new)
+                .addMonth(YearMonth.from(row.getMonthStart()), row.getPresentCount(), row.getTotalCount()));
+        return new ArrayList<>(byStudent.values());
+    }
+
+    // Recomputes attendance_summary from the attendance table to reconcile any drift
+    @PostMapping("/summary/rebuild")
+    public Map<String, Integer> rebuildAttendanceSummary() {
+        return Map.of("rows", summaryService.rebuild());
+    }
+
+    // Set algebra over the in-memory bitmap index, e.g.
+    // ?q=absent(2025-08-01) & absent(2025-08-04) & course(1); see BitmapQuery for the syntax
+    @GetMapping("/index/query")
+    public AttendanceIndexQueryDto queryAttendanceIndex(@RequestParam String q,
+                                                        @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return bitmapIndex.query(q, Math.max(0, limit));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Present/absent/recorded counts per date on record, e.g. ?dayOfWeek=MONDAY for Mondays only
+    @GetMapping("/index/days")
+    public List<AttendanceDayCountDto> getIndexDayCounts(@RequestParam(required = false) String from,
+                                                         @RequestParam(required = false) String to,
+                                                         @RequestParam(required = false) Long courseId,
+                                                         @RequestParam(required = false) DayOfWeek dayOfWeek) {
+        LocalDate fromDate = from == null ? LocalDate.MIN : LocalDate.parse(from);
+        LocalDate toDate = to == null ? LocalDate.MAX : LocalDate.parse(to);
+        if (toDate.isBefore(fromDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' must not be before 'from'");
+        }
+        return bitmapIndex.dayCounts(fromDate, toDate, courseId, dayOfWeek);
+    }
+
+    // Rebuilds the bitmap index from the tables
+    @PostMapping("/index/reload")
+    public Map<String, Integer> reloadAttendanceIndex() {
+        return Map.of("rows", bitmapIndex.reload());
+    }
+
+    private static Attendance absent(Student student, LocalDate date) {
+        Attendance attendance = new Attendance();
+        attendance.setStudent(student);
+        attendance.setDate(date);
+        attendance.setPresent(false); // Default to absent
+        return attendance;
     }
 }
\ No newline at end of file
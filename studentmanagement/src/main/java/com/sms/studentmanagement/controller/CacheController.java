@@ -0,0 +1,63 @@
+package com.sms.studentmanagement.controller;
+
+import com.sms.studentmanagement.entity.Course;
+import com.sms.studentmanagement.entity.Subject;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hit/miss counters for the Hibernate second-level and query caches.
+ */
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "http://localhost:3000")
+public class CacheController {
+
+    private static final String[] REGIONS = {
+            Course.class.getName(),
+            Subject.class.getName(),
+            Course.class.getName() + ".subjects"
+    };
+
+    private final Statistics statistics;
+
+    public CacheController(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("secondLevelCache", counters(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        stats.put("queryCache", counters(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            CacheRegionStatistics regionStats = statistics.getDomainDataRegionStatistics(region);
+            regions.put(region, counters(regionStats.getHitCount(), regionStats.getMissCount(), regionStats.getPutCount()));
+        }
+        stats.put("regions", regions);
+        return stats;
+    }
+
+    @DeleteMapping("/stats")
+    public void resetCacheStats() {
+        statistics.clear();
+    }
+
+    private static Map<String, Long> counters(long hits, long misses, long puts) {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("hits", hits);
+        counters.put("misses", misses);
+        counters.put("puts", puts);
+        return counters;
+    }
+}
@@ -1,11 +1,14 @@
 package com.sms.studentmanagement.controller;
 
+import com.sms.studentmanagement.cache.JsonResponseCache;
 import com.sms.studentmanagement.dto.CourseCreateDto;
 import com.sms.studentmanagement.entity.Course;
 import com.sms.studentmanagement.entity.Subject;
 import com.sms.studentmanagement.repository.CourseRepository;
 import com.sms.studentmanagement.repository.SubjectRepository;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -21,16 +24,18 @@ public class CourseController {
 
     private final CourseRepository courseRepo;
     private final SubjectRepository subjectRepo;
+    private final JsonResponseCache responseCache;
     private static final List<String> DEFAULT_SUBJECTS = List.of("English", "Tamil");
 
-    public CourseController(CourseRepository courseRepo, SubjectRepository subjectRepo) {
+    public CourseController(CourseRepository courseRepo, SubjectRepository subjectRepo, JsonResponseCache responseCache) {
         this.courseRepo = courseRepo;
         this.subjectRepo = subjectRepo;
+        this.responseCache = responseCache;
     }
 
     @GetMapping
-    public List<Course> getAllCourses() {
-        return courseRepo.findAllWithSubjects();
+    public ResponseEntity<byte[]> getAllCourses(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("courses", ifNoneMatch, courseRepo::findAllWithSubjects);
     }
 
     @PostMapping
@@ -44,6 +49,7 @@ public class CourseController {
         Course savedCourse = courseRepo.save(newCourse);
         
         createAndSaveSubjects(savedCourse, courseDto.getSubjects());
+        responseCache.invalidateAll();
         
         return courseRepo.findByIdWithSubjects(savedCourse.getId())
                 .orElseThrow(() -> new ResponseStatusException(
@@ -85,10 +91,12 @@ public class CourseController {
     }
 
     @GetMapping("/{id}")
-    public Course getCourseById(@PathVariable Long id) {
-        return courseRepo.findByIdWithSubjects(id)
+    public ResponseEntity<byte[]> getCourseById(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // By id rather than a fetch-join query, so the course and its subjects come from the second-level cache
+        return responseCache.get("courses/" + id, ifNoneMatch, () -> courseRepo.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Course not found"));
+                        HttpStatus.NOT_FOUND, "Course not found")));
     }
 
     @DeleteMapping("/{id}")
@@ -99,5 +107,6 @@ public class CourseController {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found");
         }
         courseRepo.deleteById(id);
+        responseCache.invalidateAll();
     }
 }
\ No newline at end of file
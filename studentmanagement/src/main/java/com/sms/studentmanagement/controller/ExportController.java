@@ -0,0 +1,94 @@
+package com.sms.studentmanagement.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sms.studentmanagement.repository.AttendanceRepository;
+import com.sms.studentmanagement.repository.MarkRepository;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Newline-delimited JSON exports. Rows are read through a JDBC cursor (Stream + fetch size)
+ * and written one by one, so memory stays flat regardless of table size.
+ */
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final AttendanceRepository attendanceRepo;
+    private final MarkRepository markRepo;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper objectMapper;
+
+    public ExportController(AttendanceRepository attendanceRepo,
+                            MarkRepository markRepo,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper) {
+        this.attendanceRepo = attendanceRepo;
+        this.markRepo = markRepo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/attendance.ndjson")
+    public ResponseEntity<StreamingResponseBody> exportAttendance() {
+        return ndjson(attendanceRepo::streamAllForExport, (gen, row) -> {
+            gen.writeNumberField("id", (Long) row[0]);
+            gen.writeNumberField("studentId", (Long) row[1]);
+            gen.writeStringField("date", ((LocalDate) row[2]).toString());
+            gen.writeBooleanField("present", (Boolean) row[3]);
+        });
+    }
+
+    @GetMapping("/marks.ndjson")
+    public ResponseEntity<StreamingResponseBody> exportMarks() {
+        return ndjson(markRepo::streamAllForExport, (gen, row) -> {
+            gen.writeNumberField("id", (Long) row[0]);
+            gen.writeNumberField("studentId", (Long) row[1]);
+            gen.writeNumberField("subjectId", (Long) row[2]);
+            gen.writeNumberField("marks", (Integer) row[3]);
+        });
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(Supplier<Stream<Object[]>> rows, RowWriter writer) {
+        StreamingResponseBody body = out -> readOnlyTx.executeWithoutResult(status -> write(out, rows, writer));
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    // Every record ends with its own newline, so an empty result is an empty body
+    void write(OutputStream out, Supplier<Stream<Object[]>> rows, RowWriter writer) {
+        try (Stream<Object[]> stream = rows.get();
+             JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(null);
+            for (Object[] row : (Iterable<Object[]>) stream::iterator) {
+                gen.writeStartObject();
+                writer.write(gen, row);
+                gen.writeEndObject();
+                gen.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    interface RowWriter {
+        void write(JsonGenerator gen, Object[] row) throws IOException;
+    }
+}
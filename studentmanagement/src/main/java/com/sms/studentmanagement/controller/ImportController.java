@@ -0,0 +1,294 @@
+package com.sms.studentmanagement.controller;
+
+import com.sms.studentmanagement.bitmap.AttendanceBitmapIndex;
+import com.sms.studentmanagement.dto.ImportReportDto;
+import com.sms.studentmanagement.repository.CourseRepository;
+import com.sms.studentmanagement.repository.StudentRepository;
+import com.sms.studentmanagement.repository.SubjectRepository;
+import com.sms.studentmanagement.summary.AttendanceSummaryService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Bulk CSV import. Files are parsed line by line, foreign keys are checked against id sets
+ * loaded once up front, and valid rows are written with JDBC batches, committing every
+ * app.import.chunk-size rows. Invalid rows are skipped and reported by line number; a chunk the
+ * database rejects is rolled back and retried one row per transaction, so only its bad rows fail.
+ *
+ * Expected headers:
+ *   students:   name,email,courseId
+ *   marks:      studentId,subjectId,marks
+ *   attendance: studentId,date,present   (date as yyyy-MM-dd; existing cells are overwritten)
+ */
+@RestController
+@RequestMapping("/api/import")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ImportController {
+
+    private static final String INSERT_STUDENT =
+            "INSERT INTO student (id, name, email, course_id) VALUES (NEXT VALUE FOR student_seq, ?, ?, ?)";
+    private static final String INSERT_MARK =
+            "INSERT INTO mark (id, student_id, subject_id, marks) VALUES (NEXT VALUE FOR mark_seq, ?, ?, ?)";
+    private static final String UPSERT_ATTENDANCE =
+            "MERGE INTO attendance a " +
+            "USING (SELECT CAST(? AS BIGINT) AS student_id, CAST(? AS DATE) AS date, CAST(? AS BOOLEAN) AS present) v " +
+            "ON a.student_id = v.student_id AND a.date = v.date " +
+            "WHEN MATCHED THEN UPDATE SET present = v.present " +
+            "WHEN NOT MATCHED THEN INSERT (id, student_id, date, present) " +
+            "VALUES (NEXT VALUE FOR attendance_seq, v.student_id, v.date, v.present)";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final StudentRepository studentRepo;
+    private final SubjectRepository subjectRepo;
+    private final CourseRepository courseRepo;
+    private final AttendanceSummaryService summaryService;
+    private final AttendanceBitmapIndex bitmapIndex;
+    private final int chunkSize;
+
+    public ImportController(JdbcTemplate jdbc,
+                            PlatformTransactionManager transactionManager,
+                            StudentRepository studentRepo,
+                            SubjectRepository subjectRepo,
+                            CourseRepository courseRepo,
+                            AttendanceSummaryService summaryService,
+                            AttendanceBitmapIndex bitmapIndex,
+                            @Value("${app.import.chunk-size:5000}") int chunkSize) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.studentRepo = studentRepo;
+        this.subjectRepo = subjectRepo;
+        this.courseRepo = courseRepo;
+        this.summaryService = summaryService;
+        this.bitmapIndex = bitmapIndex;
+        this.chunkSize = chunkSize;
+    }
+
+    @PostMapping("/students")
+    public ImportReportDto importStudents(@RequestParam("file") MultipartFile file) {
+        Set<Long> courseIds = new HashSet<>(courseRepo.findAllIds());
+        ImportReportDto report = importCsv(file, 3, INSERT_STUDENT, fields -> {
+            Long courseId = parseId(fields[2], "courseId");
+            if (!courseIds.contains(courseId)) {
+                throw new IllegalArgumentException("Course " + courseId + " not found");
+            }
+            return new Object[]{required(fields[0], "name"), required(fields[1], "email"), courseId};
+        });
+
+        // New students are absent on every date already on record, as with createStudent
+        if (report.getImported() > 0) {
+            bitmapIndex.reloadStudents();
+            tx.executeWithoutResult(status -> {
+                summaryService.insertMissingAbsences();
+                bitmapIndex.recordMissingAbsences();
+            });
+        }
+        return report;
+    }
+
+    @PostMapping("/marks")
+    public ImportReportDto importMarks(@RequestParam("file") MultipartFile file) {
+        Set<Long> studentIds = new HashSet<>(studentRepo.findAllIds());
+        Set<Long> subjectIds = new HashSet<>(subjectRepo.findAllIds());
+        return importCsv(file, 3, INSERT_MARK, fields -> {
+            Long studentId = parseId(fields[0], "studentId");
+            Long subjectId = parseId(fields[1], "subjectId");
+            if (!studentIds.contains(studentId)) {
+                throw new IllegalArgumentException("Student " + studentId + " not found");
+            }
+            if (!subjectIds.contains(subjectId)) {
+                throw new IllegalArgumentException("Subject " + subjectId + " not found");
+            }
+            return new Object[]{studentId, subjectId, parseInt(fields[2], "marks")};
+        });
+    }
+
+    @PostMapping("/attendance")
+    public ImportReportDto importAttendance(@RequestParam("file") MultipartFile file) {
+        Set<Long> studentIds = new HashSet<>(studentRepo.findAllIds());
+        // Overwritten cells have unknown old values, so the touched summary months are recomputed
+        return importCsv(file, 3, UPSERT_ATTENDANCE, chunk -> {
+            summaryService.refresh(chunk);
+            bitmapIndex.recordCells(chunk);
+        }, fields -> {
+            Long studentId = parseId(fields[0], "studentId");
+            if (!studentIds.contains(studentId)) {
+                throw new IllegalArgumentException("Student " + studentId + " not found");
+            }
+            return new Object[]{studentId, parseDate(fields[1]), parseBoolean(fields[2], "present")};
+        });
+    }
+
+    private ImportReportDto importCsv(MultipartFile file, int columns, String sql, RowMapper mapper) {
+        return importCsv(file, columns, sql, chunk -> { }, mapper);
+    }
+
+    private ImportReportDto importCsv(MultipartFile file, int columns, String sql,
+                                      Consumer<List<Object[]>> afterChunk, RowMapper mapper) {
+        if (file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV file is empty");
+        }
+
+        ImportReportDto report = new ImportReportDto();
+        List<Object[]> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            reader.readLine(); // header
+            long lineNo = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                report.rowProcessed();
+
+                try {
+                    String[] fields = parseCsvLine(line);
+                    if (fields.length != columns) {
+                        throw new IllegalArgumentException("Expected " + columns + " columns but found " + fields.length);
+                    }
+                    chunk.add(mapper.map(fields));
+                    chunkLines.add(lineNo);
+                } catch (IllegalArgumentException e) {
+                    report.rowFailed(lineNo, e.getMessage());
+                }
+
+                if (chunk.size() == chunkSize) {
+                    writeChunk(sql, chunk, chunkLines, afterChunk, report);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(sql, chunk, chunkLines, afterChunk, report);
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read CSV file", e);
+        }
+        return report;
+    }
+
+    private void writeChunk(String sql, List<Object[]> chunk, List<Long> chunkLines,
+                            Consumer<List<Object[]>> afterChunk, ImportReportDto report) {
+        try {
+            // One transaction per chunk: a failing chunk is rolled back without undoing earlier ones
+            tx.executeWithoutResult(status -> {
+                jdbc.batchUpdate(sql, chunk);
+                afterChunk.accept(chunk);
+            });
+            report.rowsImported(chunk.size());
+        } catch (DataAccessException e) {
+            // The whole chunk was rolled back; redo it one row per transaction to find the bad rows
+            for (int i = 0; i < chunk.size(); i++) {
+                List<Object[]> row = Collections.singletonList(chunk.get(i));
+                try {
+                    tx.executeWithoutResult(status -> {
+                        jdbc.update(sql, row.get(0));
+                        afterChunk.accept(row);
+                    });
+                    report.rowsImported(1);
+                } catch (DataAccessException rowError) {
+                    report.rowFailed(chunkLines.get(i),
+                            "Rejected by database: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    /** Splits one CSV line, honouring double-quoted fields and "" escapes. */
+    static String[] parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+        return fields.toArray(new String[0]);
+    }
+
+    private static String required(String value, String column) {
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        return value;
+    }
+
+    private static Long parseId(String value, String column) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a number: '" + value + "'");
+        }
+    }
+
+    private static int parseInt(String value, String column) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a number: '" + value + "'");
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("date must be yyyy-MM-dd: '" + value + "'");
+        }
+    }
+
+    private static boolean parseBoolean(String value, String column) {
+        switch (value.toLowerCase()) {
+            case "true": case "1": case "p": case "present": return true;
+            case "false": case "0": case "a": case "absent": return false;
+            default: throw new IllegalArgumentException(column + " must be true/false: '" + value + "'");
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowMapper {
+        Object[] map(String[] fields);
+    }
+}
@@ -1,11 +1,32 @@
 package com.sms.studentmanagement.controller;
 
+import com.sms.studentmanagement.dto.CourseMarkSheetDto;
+import com.sms.studentmanagement.dto.ScrollPage;
+import com.sms.studentmanagement.dto.StudentMarkStats;
+import com.sms.studentmanagement.dto.SubjectMarkDto;
 import com.sms.studentmanagement.entity.*;
 import com.sms.studentmanagement.repository.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -17,15 +38,22 @@ public class MarkController {
     private final StudentRepository studentRepo;
     private final SubjectRepository subjectRepo;
     private final CourseRepository courseRepo;
+    private final Counter bulkMarksCreated;
+    private final Counter bulkMarksUpdated;
 
     public MarkController(MarkRepository markRepo,
                          StudentRepository studentRepo,
                          SubjectRepository subjectRepo,
-                         CourseRepository courseRepo) {
+                         CourseRepository courseRepo,
+                         MeterRegistry meterRegistry) {
         this.markRepo = markRepo;
         this.studentRepo = studentRepo;
         this.subjectRepo = subjectRepo;
         this.courseRepo = courseRepo;
+        this.bulkMarksCreated = Counter.builder("marks.bulk.rows").tag("operation", "created")
+                .description("Marks created through PUT /api/marks/bulk").register(meterRegistry);
+        this.bulkMarksUpdated = Counter.builder("marks.bulk.rows").tag("operation", "updated")
+                .description("Marks updated through PUT /api/marks/bulk").register(meterRegistry);
     }
 
     @GetMapping
@@ -33,6 +61,18 @@ public class MarkController {
         return markRepo.findAll();
     }
 
+    @GetMapping("/page")
+    public Page<Mark> getMarksPage(Pageable pageable) {
+        return markRepo.findAll(pageable);
+    }
+
+    @GetMapping("/scroll")
+    public ScrollPage<Mark> scrollMarks(@RequestParam(defaultValue = "0") Long afterId,
+                                       @RequestParam(defaultValue = "100") int size) {
+        int limit = ScrollPage.clampSize(size);
+        return ScrollPage.of(markRepo.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit)), limit, Mark::getId);
+    }
+
     @GetMapping("/by-student/{studentId}")
     public List<Mark> getByStudent(@PathVariable Long studentId) {
         return markRepo.findByStudentId(studentId);
@@ -40,66 +80,128 @@ public class MarkController {
 
     @GetMapping("/student/{studentId}/details")
     public StudentMarksResponse getStudentMarksDetails(@PathVariable Long studentId) {
-        Student student = studentRepo.findById(studentId)
+        Object[] student = studentRepo.findNameAndCourseNameById(studentId).stream()
+                .findFirst()
                 .orElseThrow(() -> new RuntimeException("Student not found"));
-        
-        List<Subject> courseSubjects = subjectRepo.findByCourseId(student.getCourse().getId());
-        List<Mark> existingMarks = markRepo.findByStudentId(studentId);
-
-        List<SubjectMarkDto> marks = courseSubjects.stream()
-                .map(subject -> {
-                    Optional<Mark> existingMark = existingMarks.stream()
-                            .filter(m -> m.getSubject().getId().equals(subject.getId()))
-                            .findFirst();
-                    
-                    return new SubjectMarkDto(
-                            subject.getId(),
-                            subject.getName(),
-                            existingMark.isPresent() ? existingMark.get().getMarks() : null,
-                            existingMark.isPresent() ? existingMark.get().getId() : null
-                    );
-                })
-                .collect(Collectors.toList());
+
+        // Course subjects left-joined to this student's marks, projected straight into DTOs.
+        // Rows are ordered by subject then mark id; keep the first mark per subject.
+        Map<Long, SubjectMarkDto> marks = new LinkedHashMap<>();
+        markRepo.findSubjectMarksByStudentId(studentId)
+                .forEach(dto -> marks.putIfAbsent(dto.getSubjectId(), dto));
 
         return new StudentMarksResponse(
-                student.getId(),
-                student.getName(),
-                student.getCourse().getName(),
-                marks
+                (Long) student[0],
+                (String) student[1],
+                (String) student[2],
+                new ArrayList<>(marks.values())
         );
     }
 
+    @GetMapping("/course/{courseId}/sheet")
+    public CourseMarkSheetDto getCourseMarkSheet(@PathVariable Long courseId) {
+        List<Object[]> subjects = subjectRepo.findIdAndNameByCourseId(courseId);
+
+        // studentId -> (name, subjectId -> first mark row)
+        Map<Long, String> names = new LinkedHashMap<>();
+        Map<Long, Map<Long, Object[]>> marksByStudent = new HashMap<>();
+        markRepo.findMarkSheetRowsByCourseId(courseId).forEach(row -> {
+            Long studentId = (Long) row[0];
+            names.putIfAbsent(studentId, (String) row[1]);
+            Map<Long, Object[]> marks = marksByStudent.computeIfAbsent(studentId, id -> new HashMap<>());
+            if (row[2] != null) {
+                marks.putIfAbsent((Long) row[2], row);
+            }
+        });
+
+        List<CourseMarkSheetDto.Row> rows = new ArrayList<>(names.size());
+        names.forEach((studentId, name) -> {
+            Map<Long, Object[]> marks = marksByStudent.get(studentId);
+            List<SubjectMarkDto> cells = new ArrayList<>(subjects.size());
+            int total = 0;
+            for (Object[] subject : subjects) {
+                Object[] mark = marks.get((Long) subject[0]);
+                Integer value = mark != null ? (Integer) mark[4] : null;
+                cells.add(new SubjectMarkDto((Long) subject[0], (String) subject[1], value,
+                        mark != null ? (Long) mark[3] : null));
+                total += value != null ? value : 0;
+            }
+            rows.add(new CourseMarkSheetDto.Row(studentId, name, cells, total));
+        });
+
+        return new CourseMarkSheetDto(courseId, rows);
+    }
+
     @PutMapping("/bulk")
+    @Transactional
     public List<Mark> updateMarksBulk(@RequestBody List<MarkUpdateDto> updates) {
-        return updates.stream().map(dto -> {
+        // Preload everything the batch references in three queries instead of 2-3 per row
+        Map<Long, Mark> marks = markRepo.findAllByIdWithStudentAndSubject(idsOf(updates, MarkUpdateDto::getMarkId, true))
+                .stream().collect(Collectors.toMap(Mark::getId, Function.identity()));
+        Map<Long, Student> students = studentRepo.findAllById(idsOf(updates, MarkUpdateDto::getStudentId, false))
+                .stream().collect(Collectors.toMap(Student::getId, Function.identity()));
+        Map<Long, Subject> subjects = subjectRepo.findAllById(idsOf(updates, MarkUpdateDto::getSubjectId, false))
+                .stream().collect(Collectors.toMap(Subject::getId, Function.identity()));
+
+        List<Mark> newMarks = new ArrayList<>();
+        List<Mark> result = updates.stream().map(dto -> {
             if (dto.getMarkId() != null) {
-                // Update existing mark
-                Mark mark = markRepo.findById(dto.getMarkId())
+                // Update existing mark (flushed by dirty checking)
+                Mark mark = Optional.ofNullable(marks.get(dto.getMarkId()))
                         .orElseThrow(() -> new RuntimeException("Mark not found"));
                 mark.setMarks(dto.getMarks());
-                return markRepo.save(mark);
+                return mark;
             } else {
                 // Create new mark
-                Student student = studentRepo.findById(dto.getStudentId())
+                Student student = Optional.ofNullable(students.get(dto.getStudentId()))
                         .orElseThrow(() -> new RuntimeException("Student not found"));
-                Subject subject = subjectRepo.findById(dto.getSubjectId())
+                Subject subject = Optional.ofNullable(subjects.get(dto.getSubjectId()))
                         .orElseThrow(() -> new RuntimeException("Subject not found"));
-                
+
                 Mark mark = new Mark();
                 mark.setStudent(student);
                 mark.setSubject(subject);
                 mark.setMarks(dto.getMarks());
-                return markRepo.save(mark);
+                newMarks.add(mark);
+                return mark;
             }
         }).collect(Collectors.toList());
+
+        // Nothing has been written yet; inserts and updates go out as JDBC batches on commit
+        markRepo.saveAll(newMarks);
+        int created = newMarks.size(), updated = result.size() - newMarks.size();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bulkMarksCreated.increment(created);
+                bulkMarksUpdated.increment(updated);
+            }
+        });
+        return result;
+    }
+
+    private static Set<Long> idsOf(List<MarkUpdateDto> updates, Function<MarkUpdateDto, Long> id, boolean existing) {
+        return updates.stream()
+                .filter(dto -> (dto.getMarkId() != null) == existing)
+                .map(id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
     }
 
     @GetMapping("/student/{studentId}/total")
     public int getStudentTotalMarks(@PathVariable Long studentId) {
-        return markRepo.findByStudentId(studentId)
-                .stream()
-                .mapToInt(Mark::getMarks)
-                .sum();
+        return (int) markRepo.sumMarksByStudentId(studentId);
+    }
+
+    @GetMapping("/student/{studentId}/stats")
+    public StudentMarkStats getStudentMarkStats(@PathVariable Long studentId) {
+        return markRepo.findStatsByStudentId(studentId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found"));
+    }
+
+    @GetMapping("/course/{courseId}/stats")
+    public List<StudentMarkStats> getCourseMarkStats(@PathVariable Long courseId) {
+        return markRepo.findStatsByCourseId(courseId);
     }
 
     // DTO classes
@@ -123,26 +225,6 @@ public class MarkController {
         public List<SubjectMarkDto> getMarks() { return marks; }
     }
 
-    public static class SubjectMarkDto {
-        private Long subjectId;
-        private String subjectName;
-        private Integer marks;
-        private Long markId;
-        
-        public SubjectMarkDto(Long subjectId, String subjectName, Integer marks, Long markId) {
-            this.subjectId = subjectId;
-            this.subjectName = subjectName;
-            this.marks = marks;
-            this.markId = markId;
-        }
-
-        // Getters
-        public Long getSubjectId() { return subjectId; }
-        public String getSubjectName() { return subjectName; }
-        public Integer getMarks() { return marks; }
-        public Long getMarkId() { return markId; }
-    }
-
     public static class MarkUpdateDto {
         private Long markId;
         private Long studentId;
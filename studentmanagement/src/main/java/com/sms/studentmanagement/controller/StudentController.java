@@ -1,23 +1,35 @@
 package com.sms.studentmanagement.controller;
-import com.sms.studentmanagement.entity.Attendance;
+import com.sms.studentmanagement.backfill.AttendanceBackfillService;
+import com.sms.studentmanagement.backfill.BackfillStatus;
+import com.sms.studentmanagement.backfill.StudentCreatedEvent;
+import com.sms.studentmanagement.bitmap.AttendanceBitmapIndex;
+import com.sms.studentmanagement.dto.ScrollPage;
 import com.sms.studentmanagement.entity.Student;
 import com.sms.studentmanagement.repository.StudentRepository;
-import com.sms.studentmanagement.repository.AttendanceRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.beans.factory.annotation.Autowired;
-import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/students")
 @CrossOrigin(origins = "http://localhost:3000")
 public class StudentController {
-    @Autowired
-private AttendanceRepository attendanceRepo;
     private final StudentRepository studentRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AttendanceBackfillService backfillService;
+    private final AttendanceBitmapIndex bitmapIndex;
 
-    public StudentController(StudentRepository studentRepo) {
+    public StudentController(StudentRepository studentRepo,
+                             ApplicationEventPublisher eventPublisher,
+                             AttendanceBackfillService backfillService,
+                             AttendanceBitmapIndex bitmapIndex) {
         this.studentRepo = studentRepo;
+        this.eventPublisher = eventPublisher;
+        this.backfillService = backfillService;
+        this.bitmapIndex = bitmapIndex;
     }
 
     // ✅ Get all students
@@ -26,6 +38,20 @@ private AttendanceRepository attendanceRepo;
         return studentRepo.findAll();
     }
 
+    // ✅ Get students one page at a time (?page=&size=&sort=)
+    @GetMapping("/page")
+    public Page<Student> getStudentsPage(Pageable pageable) {
+        return studentRepo.findAll(pageable);
+    }
+
+    // ✅ Stream through students by id (?afterId=&size=)
+    @GetMapping("/scroll")
+    public ScrollPage<Student> scrollStudents(@RequestParam(defaultValue = "0") Long afterId,
+                                             @RequestParam(defaultValue = "100") int size) {
+        int limit = ScrollPage.clampSize(size);
+        return ScrollPage.of(studentRepo.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit)), limit, Student::getId);
+    }
+
     // ✅ Get student by ID
     @GetMapping("/{id}")
     public Student getStudentById(@PathVariable Long id) {
@@ -33,25 +59,21 @@ private AttendanceRepository attendanceRepo;
                 .orElseThrow(() -> new RuntimeException("Student not found with id " + id));
     }
 
-    // ✅ Add a student
-@PostMapping
-public Student createStudent(@RequestBody Student student) {
-    Student savedStudent = studentRepo.save(student);
-
-    // Get all distinct attendance dates already in the system
-    List<LocalDate> existingDates = attendanceRepo.findDistinctDates();
-
-    // For each date, mark the new student as ABSENT
-    for (LocalDate date : existingDates) {
-        Attendance a = new Attendance();
-        a.setStudent(savedStudent);
-        a.setDate(date);
-        a.setPresent(false);  // ❌ Default as Absent
-        attendanceRepo.save(a);
+    // ✅ Add a student; absent rows for past dates are backfilled asynchronously
+    @PostMapping
+    public Student createStudent(@RequestBody Student student) {
+        Student savedStudent = studentRepo.save(student);
+        bitmapIndex.addStudent(savedStudent.getId(),
+                savedStudent.getCourse() == null ? null : savedStudent.getCourse().getId());
+        eventPublisher.publishEvent(new StudentCreatedEvent(savedStudent.getId()));
+        return savedStudent;
     }
 
-    return savedStudent;
-}
+    // ✅ Progress of the attendance backfill started by createStudent
+    @GetMapping("/{id}/backfill")
+    public BackfillStatus getBackfillStatus(@PathVariable Long id) {
+        return backfillService.getStatus(id);
+    }
 
     // ✅ Update a student (without changing course)
     @PutMapping("/{id}")
@@ -71,5 +93,6 @@ public Student createStudent(@RequestBody Student student) {
     @DeleteMapping("/{id}")
     public void deleteStudent(@PathVariable Long id) {
         studentRepo.deleteById(id);
+        bitmapIndex.removeStudent(id);
     }
 }
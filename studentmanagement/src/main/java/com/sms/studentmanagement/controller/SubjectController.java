@@ -1,13 +1,19 @@
 package com.sms.studentmanagement.controller;
 
+import com.sms.studentmanagement.cache.JsonResponseCache;
+import com.sms.studentmanagement.dto.ScrollPage;
 import com.sms.studentmanagement.dto.SubjectCreateDto;
 import com.sms.studentmanagement.entity.Course;
 import com.sms.studentmanagement.entity.Subject;
 import com.sms.studentmanagement.repository.CourseRepository;
 import com.sms.studentmanagement.repository.SubjectRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/subjects")
@@ -16,21 +22,37 @@ public class SubjectController {
 
     private final SubjectRepository subjectRepo;
     private final CourseRepository  courseRepo;
+    private final JsonResponseCache responseCache;
 
     public SubjectController(SubjectRepository subjectRepo,
-                             CourseRepository courseRepo) {
-        this.subjectRepo = subjectRepo;
-        this.courseRepo  = courseRepo;
+                             CourseRepository courseRepo,
+                             JsonResponseCache responseCache) {
+        this.subjectRepo   = subjectRepo;
+        this.courseRepo    = courseRepo;
+        this.responseCache = responseCache;
     }
 
     @GetMapping
-    public List<Subject> getAllSubjects() {
-        return subjectRepo.findAll();
+    public ResponseEntity<byte[]> getAllSubjects(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("subjects", ifNoneMatch, subjectRepo::findAll);
+    }
+
+    @GetMapping("/page")
+    public Page<Subject> getSubjectsPage(Pageable pageable) {
+        return subjectRepo.findAll(pageable);
+    }
+
+    @GetMapping("/scroll")
+    public ScrollPage<Subject> scrollSubjects(@RequestParam(defaultValue = "0") Long afterId,
+                                             @RequestParam(defaultValue = "100") int size) {
+        int limit = ScrollPage.clampSize(size);
+        return ScrollPage.of(subjectRepo.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit)), limit, Subject::getId);
     }
 
     @GetMapping("/by-course/{courseId}")
-    public List<Subject> getByCourse(@PathVariable Long courseId) {
-        return subjectRepo.findByCourseId(courseId);
+    public ResponseEntity<byte[]> getByCourse(@PathVariable Long courseId,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("subjects/by-course/" + courseId, ifNoneMatch, () -> subjectRepo.findByCourseId(courseId));
     }
 
     @PostMapping
@@ -40,7 +62,9 @@ public class SubjectController {
         Subject s = new Subject();
         s.setName(dto.getName());
         s.setCourse(course);
-        return subjectRepo.save(s);
+        Subject saved = subjectRepo.save(s);
+        responseCache.invalidateAll();
+        return saved;
     }
 
     @PutMapping("/{id}")
@@ -52,11 +76,14 @@ public class SubjectController {
         // we do not allow changing course here, but you could:
         // Course c = courseRepo.findById(dto.getCourseId()).orElseThrow(...);
         // existing.setCourse(c);
-        return subjectRepo.save(existing);
+        Subject saved = subjectRepo.save(existing);
+        responseCache.invalidateAll();
+        return saved;
     }
 
     @DeleteMapping("/{id}")
     public void deleteSubject(@PathVariable Long id) {
         subjectRepo.deleteById(id);
+        responseCache.invalidateAll();
     }
 }
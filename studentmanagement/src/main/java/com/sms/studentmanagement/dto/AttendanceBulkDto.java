@@ -0,0 +1,25 @@
+package com.sms.studentmanagement.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class AttendanceBulkDto {
+    private LocalDate date;
+    private List<Entry> entries;
+
+    // Getters and setters
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    public List<Entry> getEntries() { return entries; }
+    public void setEntries(List<Entry> entries) { this.entries = entries; }
+
+    public static class Entry {
+        private Long studentId;
+        private boolean present;
+
+        public Long getStudentId() { return studentId; }
+        public void setStudentId(Long studentId) { this.studentId = studentId; }
+        public boolean isPresent() { return present; }
+        public void setPresent(boolean present) { this.present = present; }
+    }
+}
@@ -0,0 +1,27 @@
+package com.sms.studentmanagement.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Attendance counts for one date from the bitmap index. absent counts every student in scope
+ * without a present mark; recorded counts those with a row for the date.
+ */
+public class AttendanceDayCountDto {
+    private LocalDate date;
+    private int present;
+    private int absent;
+    private int recorded;
+
+    public AttendanceDayCountDto(LocalDate date, int present, int absent, int recorded) {
+        this.date = date;
+        this.present = present;
+        this.absent = absent;
+        this.recorded = recorded;
+    }
+
+    // Getters
+    public LocalDate getDate() { return date; }
+    public int getPresent() { return present; }
+    public int getAbsent() { return absent; }
+    public int getRecorded() { return recorded; }
+}
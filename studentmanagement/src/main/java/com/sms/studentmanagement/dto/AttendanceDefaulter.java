@@ -0,0 +1,36 @@
+package com.sms.studentmanagement.dto;
+
+/**
+ * A student below the attendance threshold over a rolling window (see AttendanceController.getDefaulters).
+ * totalCount is the number of dates on record in the window, the same for every student, so a day
+ * without a row for the student counts as absent; percentage is rounded to two decimals.
+ */
+public class AttendanceDefaulter {
+    private Long studentId;
+    private String studentName;
+    private Long courseId;
+    private String courseName;
+    private Long presentCount;
+    private Long totalCount;
+    private Double percentage;
+
+    public AttendanceDefaulter(Long studentId, String studentName, Long courseId, String courseName,
+                               long presentCount, long totalCount, double percentage) {
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.courseId = courseId;
+        this.courseName = courseName;
+        this.presentCount = presentCount;
+        this.totalCount = totalCount;
+        this.percentage = percentage;
+    }
+
+    // Getters
+    public Long getStudentId() { return studentId; }
+    public String getStudentName() { return studentName; }
+    public Long getCourseId() { return courseId; }
+    public String getCourseName() { return courseName; }
+    public Long getPresentCount() { return presentCount; }
+    public Long getTotalCount() { return totalCount; }
+    public Double getPercentage() { return percentage; }
+}
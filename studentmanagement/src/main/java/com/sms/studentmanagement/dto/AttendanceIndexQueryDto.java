@@ -0,0 +1,23 @@
+package com.sms.studentmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Result of a bitmap index query: how many students match, and the first of their ids.
+ */
+public class AttendanceIndexQueryDto {
+    private String query;
+    private int count;
+    private List<Long> studentIds;
+
+    public AttendanceIndexQueryDto(String query, int count, List<Long> studentIds) {
+        this.query = query;
+        this.count = count;
+        this.studentIds = studentIds;
+    }
+
+    // Getters
+    public String getQuery() { return query; }
+    public int getCount() { return count; }
+    public List<Long> getStudentIds() { return studentIds; }
+}
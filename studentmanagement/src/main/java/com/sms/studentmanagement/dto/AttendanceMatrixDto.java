@@ -0,0 +1,32 @@
+package com.sms.studentmanagement.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Dense attendance matrix for a date range.
+ * presence.get(i) is the base64 encoding of a little-endian bitset for studentIds.get(i):
+ * bit d is set when the student was present on from + d days (trailing zero bytes are omitted).
+ */
+public class AttendanceMatrixDto {
+    private LocalDate from;
+    private LocalDate to;
+    private int days;
+    private List<Long> studentIds;
+    private List<String> presence;
+
+    public AttendanceMatrixDto(LocalDate from, LocalDate to, int days, List<Long> studentIds, List<String> presence) {
+        this.from = from;
+        this.to = to;
+        this.days = days;
+        this.studentIds = studentIds;
+        this.presence = presence;
+    }
+
+    // Getters
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public int getDays() { return days; }
+    public List<Long> getStudentIds() { return studentIds; }
+    public List<String> getPresence() { return presence; }
+}
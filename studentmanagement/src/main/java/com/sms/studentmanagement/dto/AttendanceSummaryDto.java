@@ -0,0 +1,53 @@
+package com.sms.studentmanagement.dto;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A student's attendance totals across the months on record, with the per-month breakdown.
+ */
+public class AttendanceSummaryDto {
+    private Long studentId;
+    private int presentCount;
+    private int totalCount;
+    private final List<Month> months = new ArrayList<>();
+
+    public AttendanceSummaryDto(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public void addMonth(YearMonth month, int present, int total) {
+        months.add(new Month(month, present, total));
+        presentCount += present;
+        totalCount += total;
+    }
+
+    // Getters
+    public Long getStudentId() { return studentId; }
+    public int getPresentCount() { return presentCount; }
+    public int getTotalCount() { return totalCount; }
+    public double getPercentage() { return percentage(presentCount, totalCount); }
+    public List<Month> getMonths() { return months; }
+
+    private static double percentage(int present, int total) {
+        return total == 0 ? 0 : Math.round(present * 10000.0 / total) / 100.0;
+    }
+
+    public static class Month {
+        private YearMonth month;
+        private int presentCount;
+        private int totalCount;
+
+        public Month(YearMonth month, int presentCount, int totalCount) {
+            this.month = month;
+            this.presentCount = presentCount;
+            this.totalCount = totalCount;
+        }
+
+        public YearMonth getMonth() { return month; }
+        public int getPresentCount() { return presentCount; }
+        public int getTotalCount() { return totalCount; }
+        public double getPercentage() { return percentage(presentCount, totalCount); }
+    }
+}
@@ -0,0 +1,41 @@
+package com.sms.studentmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Student x subject mark grid for one course. Each row lists the course subjects
+ * in the same order, with null marks where a student has not been graded.
+ */
+public class CourseMarkSheetDto {
+    private Long courseId;
+    private List<Row> students;
+
+    public CourseMarkSheetDto(Long courseId, List<Row> students) {
+        this.courseId = courseId;
+        this.students = students;
+    }
+
+    // Getters
+    public Long getCourseId() { return courseId; }
+    public List<Row> getStudents() { return students; }
+
+    public static class Row {
+        private Long studentId;
+        private String studentName;
+        private List<SubjectMarkDto> marks;
+        private int total;
+
+        public Row(Long studentId, String studentName, List<SubjectMarkDto> marks, int total) {
+            this.studentId = studentId;
+            this.studentName = studentName;
+            this.marks = marks;
+            this.total = total;
+        }
+
+        // Getters
+        public Long getStudentId() { return studentId; }
+        public String getStudentName() { return studentName; }
+        public List<SubjectMarkDto> getMarks() { return marks; }
+        public int getTotal() { return total; }
+    }
+}
@@ -0,0 +1,46 @@
+package com.sms.studentmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a CSV import. Line numbers are 1-based and include the header line;
+ * only the first MAX_ERRORS row errors are listed, failed counts all of them.
+ */
+public class ImportReportDto {
+    public static final int MAX_ERRORS = 1000;
+
+    private int processed;
+    private int imported;
+    private int failed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void rowProcessed() { processed++; }
+    public void rowsImported(int count) { imported += count; }
+
+    public void rowFailed(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    // Getters
+    public int getProcessed() { return processed; }
+    public int getImported() { return imported; }
+    public int getFailed() { return failed; }
+    public List<RowError> getErrors() { return errors; }
+
+    public static class RowError {
+        private long line;
+        private String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public String getMessage() { return message; }
+    }
+}
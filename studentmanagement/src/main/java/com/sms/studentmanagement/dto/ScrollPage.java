@@ -0,0 +1,33 @@
+package com.sms.studentmanagement.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One keyset (seek-by-id) page. Pass nextAfterId back as afterId to continue;
+ * it is null once the last page has been returned.
+ */
+public class ScrollPage<T> {
+    public static final int MAX_SIZE = 1000;
+
+    private List<T> items;
+    private Long nextAfterId;
+
+    public ScrollPage(List<T> items, Long nextAfterId) {
+        this.items = items;
+        this.nextAfterId = nextAfterId;
+    }
+
+    public static <T> ScrollPage<T> of(List<T> items, int requestedSize, Function<T, Long> id) {
+        Long next = items.size() < requestedSize ? null : id.apply(items.get(items.size() - 1));
+        return new ScrollPage<>(items, next);
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    // Getters
+    public List<T> getItems() { return items; }
+    public Long getNextAfterId() { return nextAfterId; }
+}
@@ -0,0 +1,15 @@
+package com.sms.studentmanagement.dto;
+
+/**
+ * Per-student mark aggregates computed in the database (see MarkRepository).
+ * average is null for a student without marks; classRank is the RANK() by total within the course,
+ * null for a student without a course.
+ */
+public interface StudentMarkStats {
+    Long getStudentId();
+    String getStudentName();
+    Long getCourseId();
+    Long getTotal();
+    Double getAverage();
+    Long getClassRank();
+}
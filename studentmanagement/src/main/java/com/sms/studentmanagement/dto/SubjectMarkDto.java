@@ -0,0 +1,21 @@
+package com.sms.studentmanagement.dto;
+
+public class SubjectMarkDto {
+    private Long subjectId;
+    private String subjectName;
+    private Integer marks;
+    private Long markId;
+
+    public SubjectMarkDto(Long subjectId, String subjectName, Integer marks, Long markId) {
+        this.subjectId = subjectId;
+        this.subjectName = subjectName;
+        this.marks = marks;
+        this.markId = markId;
+    }
+
+    // Getters
+    public Long getSubjectId() { return subjectId; }
+    public String getSubjectName() { return subjectName; }
+    public Integer getMarks() { return marks; }
+    public Long getMarkId() { return markId; }
+}
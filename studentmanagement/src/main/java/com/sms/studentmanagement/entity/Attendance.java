@@ -4,14 +4,20 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance",
+       uniqueConstraints = @UniqueConstraint(name = "uk_attendance_student_date",
+                                             columnNames = {"student_id", "date"}),
+       // For lookups by date alone: the day view, the matrix and the DISTINCT date backfills
+       indexes = @Index(name = "idx_attendance_date", columnList = "date"))
 public class Attendance {
 
+    // Sequence ids (unlike IDENTITY) let Hibernate batch inserts; see hibernate.jdbc.batch_size
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_seq")
+    @SequenceGenerator(name = "attendance_seq", sequenceName = "attendance_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Student student;
 
     private LocalDate date;
@@ -0,0 +1,73 @@
+package com.sms.studentmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Attendance counts for one student in one calendar month, kept in step with the attendance
+ * table by AttendanceSummaryService in the same transaction as each write.
+ */
+@Entity
+// Hibernate orders the composite primary key (month_start, student_id); per-student reads need this one
+@Table(name = "attendance_summary",
+       indexes = @Index(name = "idx_attendance_summary_student", columnList = "student_id, month_start"))
+@IdClass(AttendanceSummary.Key.class)
+public class AttendanceSummary {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    // First day of the month
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    private int presentCount;
+
+    private int totalCount;
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public LocalDate getMonthStart() {
+        return monthStart;
+    }
+
+    public int getPresentCount() {
+        return presentCount;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public static class Key implements Serializable {
+        private Long studentId;
+        private LocalDate monthStart;
+
+        public Key() {
+        }
+
+        public Key(Long studentId, LocalDate monthStart) {
+            this.studentId = studentId;
+            this.monthStart = monthStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key
+                    && Objects.equals(studentId, key.studentId)
+                    && Objects.equals(monthStart, key.monthStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(studentId, monthStart);
+        }
+    }
+}
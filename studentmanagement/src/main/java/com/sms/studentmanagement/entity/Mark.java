@@ -6,19 +6,21 @@ import jakarta.persistence.*;
 @Table(name = "mark")
 public class Mark {
 
+    // Sequence ids so bulk mark inserts can be JDBC-batched (data.sql restarts mark_seq past its ids)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mark_seq")
+    @SequenceGenerator(name = "mark_seq", sequenceName = "mark_seq", allocationSize = 50)
     private Long id;
 
 // Mark.java
-@ManyToOne
+@ManyToOne(fetch = FetchType.LAZY)
 @JoinColumn(name = "student_id")
 private Student student;
 
 
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Subject subject;
 
     private int marks;
@@ -0,0 +1,39 @@
+package com.sms.studentmanagement.profiling;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times JDBC statement and batch execution. Hibernate creates one instance per session,
+ * so the start timestamp needs no synchronization.
+ */
+public class ProfilingSessionEventListener implements SessionEventListener {
+
+    private long executeStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    private void executed() {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.statementExecuted(System.nanoTime() - executeStart);
+        }
+    }
+}
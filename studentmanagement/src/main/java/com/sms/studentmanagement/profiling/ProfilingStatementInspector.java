@@ -0,0 +1,18 @@
+package com.sms.studentmanagement.profiling;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records every SQL statement Hibernate prepares on a profiled request thread.
+ */
+public class ProfilingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.statementPrepared(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,98 @@
+package com.sms.studentmanagement.profiling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * SQL and serialization timings for the request being handled on the current thread.
+ * Only the first {@code maxStatements} statements are kept for the slow-request log;
+ * counts and durations cover all of them.
+ */
+public final class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final int maxStatements;
+    private final List<Statement> statements = new ArrayList<>();
+    private int sqlCount;
+    private long sqlNanos;
+    private long jsonNanos;
+
+    private RequestProfile(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    static RequestProfile start(int maxStatements) {
+        RequestProfile profile = new RequestProfile(maxStatements);
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /** The profile of the current request, or null when the thread is not profiling one. */
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared(String sql) {
+        sqlCount++;
+        if (statements.size() < maxStatements) {
+            statements.add(new Statement(sql));
+        }
+    }
+
+    void statementExecuted(long nanos) {
+        sqlNanos += nanos;
+        // Attributed to the last prepared statement; batched executions add up on it
+        if (!statements.isEmpty() && statements.size() == sqlCount) {
+            statements.get(statements.size() - 1).nanos += nanos;
+        }
+    }
+
+    void serialized(long nanos) {
+        jsonNanos += nanos;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    int getSqlCount() { return sqlCount; }
+    long getSqlNanos() { return sqlNanos; }
+    long getJsonNanos() { return jsonNanos; }
+
+    /** Value for the Server-Timing header; durations are in milliseconds. */
+    String serverTiming() {
+        return String.format(Locale.ROOT, "sql-count;desc=\"%d\", sql;dur=%.2f, json;dur=%.2f, total;dur=%.2f",
+                sqlCount, millis(sqlNanos), millis(jsonNanos), millis(elapsedNanos()));
+    }
+
+    String statementList() {
+        StringBuilder out = new StringBuilder();
+        for (Statement statement : statements) {
+            out.append(String.format(Locale.ROOT, "%n  %8.2f ms  %s", millis(statement.nanos), statement.sql));
+        }
+        if (sqlCount > statements.size()) {
+            out.append(String.format("%n  ... %d more", sqlCount - statements.size()));
+        }
+        return out.toString();
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Statement {
+        private final String sql;
+        private long nanos;
+
+        private Statement(String sql) {
+            this.sql = sql;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.sms.studentmanagement.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Profiles each request and adds a Server-Timing header just before the response is committed.
+ * "total" in the header is the time until then; the slow-request log uses the full time.
+ */
+public class RequestProfilingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestProfilingFilter.class);
+
+    private final long slowRequestNanos;
+    private final int maxLoggedStatements;
+
+    public RequestProfilingFilter(long slowRequestMillis, int maxLoggedStatements) {
+        this.slowRequestNanos = slowRequestMillis * 1_000_000;
+        this.maxLoggedStatements = maxLoggedStatements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestProfile profile = RequestProfile.start(maxLoggedStatements);
+        TimingResponse timingResponse = new TimingResponse(response, profile);
+        try {
+            chain.doFilter(request, timingResponse);
+        } finally {
+            // Also on an unhandled exception, before the container renders its error page
+            timingResponse.addServerTiming();
+            RequestProfile.end();
+
+            long elapsed = profile.elapsedNanos();
+            if (elapsed >= slowRequestNanos) {
+                log.warn("Slow request {} {} -> {} took {} ms: {} statements in {} ms, JSON {} ms{}",
+                        request.getMethod(), request.getRequestURI(), response.getStatus(),
+                        Math.round(RequestProfile.millis(elapsed)), profile.getSqlCount(),
+                        Math.round(RequestProfile.millis(profile.getSqlNanos())),
+                        Math.round(RequestProfile.millis(profile.getJsonNanos())),
+                        profile.statementList());
+            }
+        }
+    }
+
+    /** Adds the header the first time the body is touched, while headers can still be written. */
+    private static class TimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestProfile profile;
+        private boolean timed;
+
+        TimingResponse(HttpServletResponse response, RequestProfile profile) {
+            super(response);
+            this.profile = profile;
+        }
+
+        void addServerTiming() {
+            if (timed || isCommitted()) return;
+            timed = true;
+            addHeader("Server-Timing", profile.serverTiming());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -1,24 +1,158 @@
 package com.sms.studentmanagement.repository;
 
 import com.sms.studentmanagement.entity.Attendance;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+    // Associations are LAZY; endpoints that serialize the student and course fetch them up front
+    @Override
+    @EntityGraph(attributePaths = "student.course")
+    List<Attendance> findAll();
+
+    @EntityGraph(attributePaths = "student.course")
     List<Attendance> findByStudentId(Long studentId);
+
+    @EntityGraph(attributePaths = "student.course")
     List<Attendance> findByDate(LocalDate date);
+
+    List<Attendance> findByDateAndStudentIdIn(LocalDate date, Collection<Long> studentIds);
     
     @Query("SELECT DISTINCT a.date FROM Attendance a")
     List<LocalDate> findDistinctDates();
     
     @Query("SELECT a.date FROM Attendance a WHERE a.student.id = ?1")
     List<LocalDate> findDatesByStudentId(Long studentId);
+
+    @Query("SELECT a.student.id, a.date FROM Attendance a " +
+           "WHERE a.present = true AND a.date BETWEEN :from AND :to " +
+           "AND (:courseId IS NULL OR a.student.course.id = :courseId)")
+    List<Object[]> findPresentCells(@Param("from") LocalDate from,
+                                    @Param("to") LocalDate to,
+                                    @Param("courseId") Long courseId);
     
+    @Query("SELECT a.student.id, a.date FROM Attendance a WHERE a.date >= :from")
+    List<Object[]> findStudentDatePairsFrom(@Param("from") LocalDate from);
+
     boolean existsByStudentIdAndDate(Long studentId, LocalDate date);
     
     Optional<Attendance> findByStudentIdAndDate(Long studentId, LocalDate date);
-}
\ No newline at end of file
+
+    // Set-based backfill: one INSERT ... SELECT with an anti-join, so re-running it is a no-op.
+    // These return the inserted rows grouped as (student_id, month_start, count) so the caller
+    // can add them to attendance_summary; they must run inside a transaction.
+    @Query(value = "SELECT i.student_id, DATE_TRUNC('MONTH', i.date) AS month_start, COUNT(*) FROM FINAL TABLE (" +
+                   "INSERT INTO attendance (id, student_id, date, present) " +
+                   "SELECT NEXT VALUE FOR attendance_seq, s.id, d.date, FALSE FROM student s " +
+                   "CROSS JOIN (SELECT DISTINCT date FROM attendance) d " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM attendance a WHERE a.student_id = s.id AND a.date = d.date)" +
+                   ") i GROUP BY i.student_id, DATE_TRUNC('MONTH', i.date)",
+           nativeQuery = true)
+    List<Object[]> insertMissingAbsences();
+
+    @Query(value = "SELECT i.student_id, DATE_TRUNC('MONTH', i.date) AS month_start, COUNT(*) FROM FINAL TABLE (" +
+                   "INSERT INTO attendance (id, student_id, date, present) " +
+                   "SELECT NEXT VALUE FOR attendance_seq, s.id, :date, FALSE FROM student s " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM attendance a WHERE a.student_id = s.id AND a.date = :date)" +
+                   ") i GROUP BY i.student_id, DATE_TRUNC('MONTH', i.date)",
+           nativeQuery = true)
+    List<Object[]> insertMissingAbsencesForDate(@Param("date") LocalDate date);
+
+    // Absent rows for one student on every date already in the calendar, in a single statement
+    @Query(value = "SELECT i.student_id, DATE_TRUNC('MONTH', i.date) AS month_start, COUNT(*) FROM FINAL TABLE (" +
+                   "INSERT INTO attendance (id, student_id, date, present) " +
+                   "SELECT NEXT VALUE FOR attendance_seq, :studentId, d.date, FALSE " +
+                   "FROM (SELECT DISTINCT date FROM attendance) d " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM attendance a WHERE a.student_id = :studentId AND a.date = d.date)" +
+                   ") i GROUP BY i.student_id, DATE_TRUNC('MONTH', i.date)",
+           nativeQuery = true)
+    List<Object[]> insertMissingAbsencesForStudent(@Param("studentId") Long studentId);
+
+    // Current value of a cell, locked until the transaction ends; empty when there is no row yet
+    @Query(value = "SELECT present FROM attendance WHERE student_id = :studentId AND date = :date FOR UPDATE",
+           nativeQuery = true)
+    Optional<Boolean> findPresentForUpdate(@Param("studentId") Long studentId, @Param("date") LocalDate date);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Attendance a WHERE a.id = :id")
+    Optional<Attendance> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Attendance a WHERE a.date = :date AND a.student.id IN :studentIds")
+    List<Attendance> findByDateAndStudentIdInForUpdate(@Param("date") LocalDate date,
+                                                       @Param("studentIds") Collection<Long> studentIds);
+
+    // Strict insert returning the new row; a concurrent insert of the same cell fails on the unique index
+    @Transactional
+    @Query(value = "SELECT * FROM FINAL TABLE (" +
+                   "INSERT INTO attendance (id, student_id, date, present) " +
+                   "VALUES (NEXT VALUE FOR attendance_seq, :studentId, :date, :present))",
+           nativeQuery = true)
+    Attendance insertCell(@Param("studentId") Long studentId,
+                          @Param("date") LocalDate date,
+                          @Param("present") boolean present);
+
+    // Single-statement upsert on (student_id, date) that also returns the resulting row
+    @Transactional
+    @Query(value = "SELECT * FROM FINAL TABLE (" +
+                   "MERGE INTO attendance a " +
+                   "USING (SELECT CAST(:studentId AS BIGINT) AS student_id, CAST(:date AS DATE) AS date, " +
+                   "CAST(:present AS BOOLEAN) AS present) v " +
+                   "ON a.student_id = v.student_id AND a.date = v.date " +
+                   "WHEN MATCHED THEN UPDATE SET present = v.present " +
+                   "WHEN NOT MATCHED THEN INSERT (id, student_id, date, present) " +
+                   "VALUES (NEXT VALUE FOR attendance_seq, v.student_id, v.date, v.present))",
+           nativeQuery = true)
+    Attendance upsert(@Param("studentId") Long studentId,
+                      @Param("date") LocalDate date,
+                      @Param("present") boolean present);
+
+    // One grouped statement, no entities: present days per student over calendar months
+    // [monthsFrom, monthsTo] from attendance_summary, plus or minus (headSign, tailSign) the present
+    // rows of the two edge ranges [headFrom, headTo] and [tailFrom, tailTo]. An empty range is passed
+    // with its start after its end. Rows are (student_id, present); students with none are left out
+    @Query(value = "SELECT u.student_id, SUM(u.present) FROM (" +
+                   "SELECT m.student_id, m.present_count AS present " +
+                   "FROM attendance_summary m WHERE m.month_start BETWEEN :monthsFrom AND :monthsTo " +
+                   "AND m.present_count > 0 " +
+                   "UNION ALL SELECT a.student_id, :headSign " +
+                   "FROM attendance a WHERE a.date BETWEEN :headFrom AND :headTo AND a.present " +
+                   "UNION ALL SELECT a.student_id, :tailSign " +
+                   "FROM attendance a WHERE a.date BETWEEN :tailFrom AND :tailTo AND a.present) u " +
+                   "GROUP BY u.student_id HAVING SUM(u.present) > 0",
+           nativeQuery = true)
+    List<Object[]> sumPresentByStudent(@Param("monthsFrom") LocalDate monthsFrom,
+                                       @Param("monthsTo") LocalDate monthsTo,
+                                       @Param("headFrom") LocalDate headFrom,
+                                       @Param("headTo") LocalDate headTo,
+                                       @Param("headSign") int headSign,
+                                       @Param("tailFrom") LocalDate tailFrom,
+                                       @Param("tailTo") LocalDate tailTo,
+                                       @Param("tailSign") int tailSign);
+
+    // Distinct dates with at least one attendance row in [from, from + days - 1]: one
+    // idx_attendance_date probe per day rather than a DISTINCT over every row of the window
+    @Query(value = "SELECT COUNT(*) FROM SYSTEM_RANGE(0, :days - 1) r WHERE EXISTS (" +
+                   "SELECT 1 FROM attendance a WHERE a.date = DATEADD(DAY, r.x, CAST(:from AS DATE)))",
+           nativeQuery = true)
+    long countDatesOnRecord(@Param("from") LocalDate from, @Param("days") int days);
+
+    // Scalar rows for the NDJSON export, read through a cursor; must run inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.id, a.student.id, a.date, a.present FROM Attendance a ORDER BY a.id")
+    Stream<Object[]> streamAllForExport();
+}
@@ -0,0 +1,20 @@
+package com.sms.studentmanagement.repository;
+
+import com.sms.studentmanagement.entity.AttendanceSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface AttendanceSummaryRepository extends JpaRepository<AttendanceSummary, AttendanceSummary.Key> {
+
+    List<AttendanceSummary> findAllByOrderByStudentIdAscMonthStartAsc();
+
+    List<AttendanceSummary> findByStudentIdOrderByMonthStartAsc(Long studentId);
+
+    @Query("SELECT s FROM AttendanceSummary s " +
+           "WHERE s.studentId IN (SELECT st.id FROM Student st WHERE st.course.id = :courseId) " +
+           "ORDER BY s.studentId, s.monthStart")
+    List<AttendanceSummary> findByCourseId(@Param("courseId") Long courseId);
+}
@@ -1,8 +1,11 @@
 package com.sms.studentmanagement.repository;
 
 import com.sms.studentmanagement.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
@@ -11,9 +14,16 @@ import java.util.Optional;
 public interface CourseRepository extends JpaRepository<Course, Long> {
     boolean existsByNameIgnoreCase(String name);
     
-    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.subjects")
+    // One row per course; subjects are loaded afterwards in IN batches (see Course.subjects)
+    // rather than by a fetch join that repeats every course once per subject.
+    // Served from the query cache until a course is written.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c FROM Course c ORDER BY c.id")
     List<Course> findAllWithSubjects();
     
     @Query("SELECT c FROM Course c LEFT JOIN FETCH c.subjects WHERE c.id = :id")
     Optional<Course> findByIdWithSubjects(@Param("id") Long id);
-}
\ No newline at end of file
+
+    @Query("SELECT c.id FROM Course c")
+    List<Long> findAllIds();
+}
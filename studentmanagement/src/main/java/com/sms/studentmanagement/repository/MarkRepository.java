@@ -1,12 +1,97 @@
 package com.sms.studentmanagement.repository;
 
+import com.sms.studentmanagement.dto.StudentMarkStats;
+import com.sms.studentmanagement.dto.SubjectMarkDto;
 import com.sms.studentmanagement.entity.Mark;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MarkRepository extends JpaRepository<Mark, Long> {
+    // Associations are LAZY; the serialized graph (student, subject and their courses) is fetched up front
+    @Override
+    @EntityGraph(attributePaths = {"student.course", "subject.course"})
+    List<Mark> findAll();
+
+    @EntityGraph(attributePaths = {"student.course", "subject.course"})
     List<Mark> findByStudentId(Long studentId);           // All marks of a student
+
+    @EntityGraph(attributePaths = {"student.course", "subject.course"})
     List<Mark> findBySubjectId(Long subjectId);           // All marks in a subject
+
+    @EntityGraph(attributePaths = {"student.course", "subject.course"})
     List<Mark> findByStudentCourseId(Long courseId);      // Optional: all marks for students of a course
+
+    @Query("SELECT m FROM Mark m JOIN FETCH m.student JOIN FETCH m.subject WHERE m.id IN :ids")
+    List<Mark> findAllByIdWithStudentAndSubject(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.sms.studentmanagement.dto.SubjectMarkDto(sub.id, sub.name, m.marks, m.id) " +
+           "FROM Student s JOIN Subject sub ON sub.course.id = s.course.id " +
+           "LEFT JOIN Mark m ON m.subject.id = sub.id AND m.student.id = s.id " +
+           "WHERE s.id = :studentId ORDER BY sub.id, m.id")
+    List<SubjectMarkDto> findSubjectMarksByStudentId(@Param("studentId") Long studentId);
+
+    // One row per (student, mark) for a course; students without marks come back with null mark columns
+    @Query("SELECT s.id, s.name, m.subject.id, m.id, m.marks " +
+           "FROM Student s LEFT JOIN Mark m ON m.student.id = s.id " +
+           "WHERE s.course.id = :courseId ORDER BY s.id, m.id")
+    List<Object[]> findMarkSheetRowsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT COALESCE(SUM(m.marks), 0) FROM Mark m WHERE m.student.id = :studentId")
+    long sumMarksByStudentId(@Param("studentId") Long studentId);
+
+    // Totals and averages per student of a course, ranked by total within the course
+    @Query(value = "SELECT t.student_id AS studentId, t.student_name AS studentName, t.course_id AS courseId, " +
+                   "t.total AS total, t.average AS average, " +
+                   "RANK() OVER (PARTITION BY t.course_id ORDER BY t.total DESC) AS classRank " +
+                   "FROM (SELECT s.id AS student_id, s.name AS student_name, s.course_id AS course_id, " +
+                   "COALESCE(SUM(m.marks), 0) AS total, AVG(CAST(m.marks AS DOUBLE)) AS average " +
+                   "FROM student s LEFT JOIN mark m ON m.student_id = s.id " +
+                   "WHERE s.course_id = :courseId " +
+                   "GROUP BY s.id, s.name, s.course_id) t " +
+                   "ORDER BY classRank, studentId",
+           nativeQuery = true)
+    List<StudentMarkStats> findStatsByCourseId(@Param("courseId") Long courseId);
+
+    // The same ranking over the student's course, keeping only the student's row. A student
+    // without a course is ranked against no one: their own total and average, classRank null
+    @Query(value = "SELECT * FROM (" +
+                   "SELECT t.student_id AS studentId, t.student_name AS studentName, t.course_id AS courseId, " +
+                   "t.total AS total, t.average AS average, " +
+                   "CASE WHEN t.course_id IS NOT NULL THEN " +
+                   "RANK() OVER (PARTITION BY t.course_id ORDER BY t.total DESC) END AS classRank " +
+                   "FROM (SELECT s.id AS student_id, s.name AS student_name, s.course_id AS course_id, " +
+                   "COALESCE(SUM(m.marks), 0) AS total, AVG(CAST(m.marks AS DOUBLE)) AS average " +
+                   "FROM student s LEFT JOIN mark m ON m.student_id = s.id " +
+                   "WHERE s.course_id = (SELECT course_id FROM student WHERE id = :studentId) " +
+                   "OR s.id = :studentId " +
+                   "GROUP BY s.id, s.name, s.course_id) t" +
+                   ") r WHERE r.studentId = :studentId",
+           nativeQuery = true)
+    Optional<StudentMarkStats> findStatsByStudentId(@Param("studentId") Long studentId);
+
+    @Override
+    @EntityGraph(attributePaths = {"student.course", "subject.course"})
+    Page<Mark> findAll(Pageable pageable);
+
+    // Keyset pagination: seek past the last id seen instead of an OFFSET scan
+    @EntityGraph(attributePaths = {"student.course", "subject.course"})
+    List<Mark> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Scalar rows for the NDJSON export, read through a cursor; must run inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT m.id, m.student.id, m.subject.id, m.marks FROM Mark m ORDER BY m.id")
+    Stream<Object[]> streamAllForExport();
 }
@@ -1,10 +1,54 @@
 package com.sms.studentmanagement.repository;
 
 import com.sms.studentmanagement.entity.Student;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
+    @Override
+    @EntityGraph(attributePaths = "course")
+    List<Student> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "course")
+    Optional<Student> findById(Long id);
+
+    @EntityGraph(attributePaths = "course")
     List<Student> findByCourseId(Long courseId);  // ✅ Optional: Get students by course ID
+
+    @Query("SELECT s.id FROM Student s WHERE (:courseId IS NULL OR s.course.id = :courseId) ORDER BY s.id")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.id, s.name, c.name FROM Student s LEFT JOIN s.course c WHERE s.id = :id")
+    List<Object[]> findNameAndCourseNameById(@Param("id") Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "course")
+    Page<Student> findAll(Pageable pageable);
+
+    // Keyset pagination: seek past the last id seen instead of an OFFSET scan
+    @EntityGraph(attributePaths = "course")
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("SELECT s.id FROM Student s")
+    List<Long> findAllIds();
+
+    @Query("SELECT s.id, s.name, c.id, c.name FROM Student s LEFT JOIN s.course c " +
+           "WHERE (:courseId IS NULL OR c.id = :courseId) ORDER BY s.id")
+    List<Object[]> findIdNameAndCourse(@Param("courseId") Long courseId);
+
+    @Query("SELECT s.id, c.id FROM Student s LEFT JOIN s.course c ORDER BY s.id")
+    List<Object[]> findIdsWithCourseId();
 }
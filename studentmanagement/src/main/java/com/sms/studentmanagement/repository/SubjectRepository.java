@@ -1,10 +1,40 @@
 package com.sms.studentmanagement.repository;
 
 import com.sms.studentmanagement.entity.Subject;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
+    @Override
+    @EntityGraph(attributePaths = "course")
+    List<Subject> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "course")
+    Optional<Subject> findById(Long id);
+
+    @EntityGraph(attributePaths = "course")
     List<Subject> findByCourseId(Long courseId);
+
+    @Query("SELECT s.id, s.name FROM Subject s WHERE s.course.id = :courseId ORDER BY s.id")
+    List<Object[]> findIdAndNameByCourseId(@Param("courseId") Long courseId);
+
+    @Override
+    @EntityGraph(attributePaths = "course")
+    Page<Subject> findAll(Pageable pageable);
+
+    // Keyset pagination: seek past the last id seen instead of an OFFSET scan
+    @EntityGraph(attributePaths = "course")
+    List<Subject> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("SELECT s.id FROM Subject s")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,226 @@
+package com.sms.studentmanagement.summary;
+
+import com.sms.studentmanagement.repository.AttendanceRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Keeps attendance_summary (present/total per student and month) in step with the attendance
+ * table. Every write method joins the caller's transaction, so a summary change commits or
+ * rolls back together with the attendance rows it describes. rebuild() reconciles any drift
+ * and is safe to run while the writers are busy.
+ */
+@Service
+public class AttendanceSummaryService {
+
+    private static final String APPLY_DELTA =
+            "MERGE INTO attendance_summary s " +
+            "USING (SELECT CAST(? AS BIGINT) AS student_id, CAST(? AS DATE) AS month_start, " +
+            "CAST(? AS INT) AS present, CAST(? AS INT) AS total) v " +
+            "ON s.student_id = v.student_id AND s.month_start = v.month_start " +
+            "WHEN MATCHED THEN UPDATE SET present_count = s.present_count + v.present, " +
+            "total_count = s.total_count + v.total " +
+            "WHEN NOT MATCHED THEN INSERT (student_id, month_start, present_count, total_count) " +
+            "VALUES (v.student_id, v.month_start, v.present, v.total)";
+
+    // Params: student id, month start, month start, next month start
+    private static final String REFRESH_MONTH =
+            "MERGE INTO attendance_summary s " +
+            "USING (SELECT CAST(? AS BIGINT) AS student_id, CAST(? AS DATE) AS month_start, " +
+            "COALESCE(SUM(CASE WHEN a.present THEN 1 ELSE 0 END), 0) AS present, COUNT(a.id) AS total " +
+            "FROM attendance a WHERE a.student_id = ? AND a.date >= ? AND a.date < ?) v " +
+            "ON s.student_id = v.student_id AND s.month_start = v.month_start " +
+            "WHEN MATCHED THEN UPDATE SET present_count = v.present, total_count = v.total " +
+            "WHEN NOT MATCHED THEN INSERT (student_id, month_start, present_count, total_count) " +
+            "VALUES (v.student_id, v.month_start, v.present, v.total)";
+
+    // Params: first and last student id of a rebuild batch, twice
+    private static final String MONTHS_IN_RANGE =
+            "SELECT student_id, DATE_TRUNC('MONTH', date) FROM attendance WHERE student_id BETWEEN ? AND ? " +
+            "UNION SELECT student_id, month_start FROM attendance_summary WHERE student_id BETWEEN ? AND ? " +
+            "ORDER BY 1, 2";
+
+    static final int REBUILD_BATCH_STUDENTS = 100;
+    private static final int REBUILD_MAX_ATTEMPTS = 3;
+
+    private final AttendanceRepository attendanceRepo;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+
+    public AttendanceSummaryService(AttendanceRepository attendanceRepo,
+                                    JdbcTemplate jdbc,
+                                    PlatformTransactionManager transactionManager) {
+        this.attendanceRepo = attendanceRepo;
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    public static LocalDate monthOf(LocalDate date) {
+        return date.withDayOfMonth(1);
+    }
+
+    /** One cell was written; previous is its old value, or null if the row was just inserted. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCell(Long studentId, LocalDate date, Boolean previous, boolean present) {
+        Deltas deltas = new Deltas();
+        deltas.add(studentId, date, previous, present);
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Deltas deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.counts.size());
+        deltas.counts.forEach((key, counts) -> {
+            if (counts[0] != 0 || counts[1] != 0) {
+                args.add(new Object[]{key.studentId, Date.valueOf(key.monthStart), counts[0], counts[1]});
+            }
+        });
+        if (!args.isEmpty()) {
+            jdbc.batchUpdate(APPLY_DELTA, args);
+        }
+    }
+
+    /** Recomputes the months containing the given (studentId, date) cells from the attendance table. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(Collection<Object[]> cells) {
+        TreeSet<MonthKey> months = new TreeSet<>();
+        cells.forEach(cell -> months.add(new MonthKey((Long) cell[0], monthOf((LocalDate) cell[1]))));
+
+        List<Object[]> args = new ArrayList<>(months.size());
+        for (MonthKey key : months) {
+            Date month = Date.valueOf(key.monthStart);
+            args.add(new Object[]{key.studentId, month, key.studentId, month, Date.valueOf(key.monthStart.plusMonths(1))});
+        }
+        if (!args.isEmpty()) {
+            jdbc.batchUpdate(REFRESH_MONTH, args);
+        }
+    }
+
+    // Absent-row backfills; each returns the number of attendance rows inserted
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int insertMissingAbsences() {
+        return applyInserted(attendanceRepo.insertMissingAbsences());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int insertMissingAbsencesForDate(LocalDate date) {
+        return applyInserted(attendanceRepo.insertMissingAbsencesForDate(date));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int insertMissingAbsencesForStudent(Long studentId) {
+        return applyInserted(attendanceRepo.insertMissingAbsencesForStudent(studentId));
+    }
+
+    /**
+     * Recomputes every summary row from the attendance table and returns the number of rows kept.
+     * Runs in one transaction per batch of students, with no bulk delete: each (student, month) is
+     * refreshed in place by REFRESH_MONTH and rows left with no attendance are removed afterwards.
+     */
+    public int rebuild() {
+        List<Long> studentIds = jdbc.queryForList(
+                "SELECT student_id FROM attendance UNION SELECT student_id FROM attendance_summary ORDER BY 1",
+                Long.class);
+        int rows = 0;
+        for (int from = 0; from < studentIds.size(); from += REBUILD_BATCH_STUDENTS) {
+            List<Long> batch = studentIds.subList(from, Math.min(studentIds.size(), from + REBUILD_BATCH_STUDENTS));
+            rows += rebuildStudents(batch.get(0), batch.get(batch.size() - 1));
+        }
+        return rows;
+    }
+
+    private int rebuildStudents(Long firstId, Long lastId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return tx.execute(status -> {
+                    // Existing rows are locked before attendance is read, so a writer's delta either
+                    // lands before the lock (and its row is counted) or waits and is added on top
+                    jdbc.queryForList("SELECT student_id FROM attendance_summary WHERE student_id BETWEEN ? AND ? " +
+                            "ORDER BY student_id, month_start FOR UPDATE", Long.class, firstId, lastId);
+
+                    List<Object[]> args = jdbc.query(MONTHS_IN_RANGE, (rs, i) -> {
+                        Long studentId = rs.getLong(1);
+                        LocalDate month = rs.getDate(2).toLocalDate();
+                        return new Object[]{studentId, Date.valueOf(month), studentId, Date.valueOf(month),
+                                Date.valueOf(month.plusMonths(1))};
+                    }, firstId, lastId, firstId, lastId);
+                    if (!args.isEmpty()) {
+                        jdbc.batchUpdate(REFRESH_MONTH, args);
+                    }
+                    int orphans = jdbc.update("DELETE FROM attendance_summary " +
+                            "WHERE student_id BETWEEN ? AND ? AND total_count = 0", firstId, lastId);
+                    return args.size() - orphans;
+                });
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+                // A writer created one of the batch's rows at the same moment; the retry refreshes it
+                if (attempt >= REBUILD_MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // Rows are (student_id, month_start, inserted count), all absent
+    private int applyInserted(List<Object[]> grouped) {
+        Deltas deltas = new Deltas();
+        int inserted = 0;
+        for (Object[] row : grouped) {
+            int count = ((Number) row[2]).intValue();
+            deltas.add(((Number) row[0]).longValue(), toLocalDate(row[1]), 0, count);
+            inserted += count;
+        }
+        apply(deltas);
+        return inserted;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    /**
+     * Per (student, month) present/total changes, applied in key order so concurrent
+     * writers lock summary rows in the same order.
+     */
+    public static class Deltas {
+        private final Map<MonthKey, int[]> counts = new TreeMap<>();
+
+        public void add(Long studentId, LocalDate date, int present, int total) {
+            int[] c = counts.computeIfAbsent(new MonthKey(studentId, monthOf(date)), k -> new int[2]);
+            c[0] += present;
+            c[1] += total;
+        }
+
+        /** A cell changed from previous (null when newly inserted) to present. */
+        public void add(Long studentId, LocalDate date, Boolean previous, boolean present) {
+            int before = Boolean.TRUE.equals(previous) ? 1 : 0;
+            add(studentId, date, (present ? 1 : 0) - before, previous == null ? 1 : 0);
+        }
+    }
+
+    private record MonthKey(Long studentId, LocalDate monthStart) implements Comparable<MonthKey> {
+        private static final Comparator<MonthKey> ORDER =
+                Comparator.comparing(MonthKey::studentId).thenComparing(MonthKey::monthStart);
+
+        @Override
+        public int compareTo(MonthKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
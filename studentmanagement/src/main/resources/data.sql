@@ -28,6 +28,10 @@ INSERT INTO subject (id, name, course_id) VALUES (13, 'C Programming', 3);
 INSERT INTO subject (id, name, course_id) VALUES (14, 'Operating Systems', 3);
 INSERT INTO subject (id, name, course_id) VALUES (15, 'Networking', 3);
 
+-- Generated course/subject ids must not collide with the explicit ids above
+ALTER SEQUENCE course_seq RESTART WITH 1000;
+ALTER SEQUENCE subject_seq RESTART WITH 1000;
+
 -- STUDENTS
 INSERT INTO student (id, name, email, course_id) VALUES (1, 'Ganesh', 'ganesh@bca.com', 1);
 INSERT INTO student (id, name, email, course_id) VALUES (2, 'Vaisali', 'vaisali@bca.com', 1);
@@ -36,6 +40,9 @@ INSERT INTO student (id, name, email, course_id) VALUES (4, 'Ajay', 'ajay@bba.co
 INSERT INTO student (id, name, email, course_id) VALUES (5, 'Ram', 'ram@cs.com', 3);
 INSERT INTO student (id, name, email, course_id) VALUES (6, 'Priya', 'priya@cs.com', 3);
 
+-- Generated student ids must not collide with the explicit ids above
+ALTER SEQUENCE student_seq RESTART WITH 1000;
+
 
 -- MARKS
 -- BCA Students: 1, 2
@@ -77,5 +84,8 @@ INSERT INTO mark (id, student_id, subject_id, marks) VALUES (28, 6, 13, 72);
 INSERT INTO mark (id, student_id, subject_id, marks) VALUES (29, 6, 14, 76);
 INSERT INTO mark (id, student_id, subject_id, marks) VALUES (30, 6, 15, 74);
 
+-- Generated mark ids must not collide with the explicit ids above
+ALTER SEQUENCE mark_seq RESTART WITH 1000;
+
 
 -- ATTENDANCE (July 14–27)
\ No newline at end of file
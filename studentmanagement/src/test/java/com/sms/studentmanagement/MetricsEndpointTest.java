@@ -0,0 +1,93 @@
+package com.sms.studentmanagement;
+
+import com.sms.studentmanagement.controller.MarkController;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.seed.attendance.enabled=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MarkController markController;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void prometheusScrapeCoversEndpointsRepositoriesPoolAndHibernate() throws Exception {
+        mockMvc.perform(get("/api/marks/student/1/details")).andExpect(status().isOk());
+        mockMvc.perform(put("/api/marks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"markId\":1,\"marks\":91}]"))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertContains(scrape, "http_server_requests_seconds_count{",
+                "handler=\"MarkController#getStudentMarksDetails\"");
+        assertContains(scrape, "spring_data_repository_invocations_seconds_count{",
+                "repository=\"MarkRepository\"");
+        assertContains(scrape, "hikaricp_connections_active{");
+        assertContains(scrape, "hibernate_query_executions_total{");
+        assertContains(scrape, "hibernate_second_level_cache_requests_total{");
+        assertContains(scrape, "marks_bulk_rows_total{", "operation=\"updated\"");
+    }
+
+    @Test
+    void bulkRowCountersOnlyCountCommittedBatches() {
+        MarkController.MarkUpdateDto update = new MarkController.MarkUpdateDto();
+        update.setMarkId(2L);
+        update.setMarks(80);
+        double before = bulkRowsUpdated();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            markController.updateMarksBulk(List.of(update));
+            status.setRollbackOnly();
+        });
+        assertEquals(before, bulkRowsUpdated());
+
+        markController.updateMarksBulk(List.of(update));
+        assertEquals(before + 1, bulkRowsUpdated());
+    }
+
+    private double bulkRowsUpdated() {
+        return meterRegistry.get("marks.bulk.rows").tag("operation", "updated").counter().count();
+    }
+
+    private static void assertContains(String scrape, String series, String... labels) {
+        boolean found = scrape.lines().anyMatch(line -> {
+            if (!line.startsWith(series)) return false;
+            for (String label : labels) {
+                if (!line.contains(label)) return false;
+            }
+            return true;
+        });
+        assertTrue(found, series + " " + String.join(",", labels) + " missing from scrape");
+    }
+}
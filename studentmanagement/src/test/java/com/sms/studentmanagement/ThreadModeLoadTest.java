@@ -0,0 +1,187 @@
+package com.sms.studentmanagement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the same mixed read/write workload against the app on Tomcat's platform-thread pool and
+ * with the "virtual" profile, and prints throughput and p99 latency for each. Only 2xx responses
+ * count toward req/s and latency; 4xx, 5xx and transport failures are reported separately. The
+ * platform run is repeated with the virtual profile's 50-connection pool so pool size is not the
+ * difference being measured.
+ * Run with: mvn test -Dbenchmarks=true -Dtest=ThreadModeLoadTest
+ * Tune with -Dload.clients=, -Dload.seconds=
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ThreadModeLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 1000);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 15);
+    private static final int WARMUP_SECONDS = 5;
+    private static final int STUDENTS = 2_000;
+    private static final long FIRST_STUDENT_ID = 100_000;
+    private static final LocalDate DATE = LocalDate.of(2030, 6, 1);
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Result platform = run("platform", false);
+        Result platformPool50 = run("platform-pool50", false,
+                "--spring.datasource.hikari.maximum-pool-size=50",
+                "--spring.datasource.hikari.minimum-idle=50",
+                "--spring.datasource.hikari.connection-timeout=5000");
+        Result virtual = run("virtual", true);
+
+        System.out.printf("%-15s %8s %10s %9s %9s %7s %7s %7s%n",
+                "mode", "clients", "2xx req/s", "p50 ms", "p99 ms", "3xx-4xx", "5xx", "io err");
+        for (Result r : List.of(platform, platformPool50, virtual)) {
+            System.out.printf("%-15s %8d %,10.0f %9.1f %9.1f %7d %7d %7d%n", r.mode, CLIENTS, r.throughput,
+                    r.p50Millis, r.p99Millis, r.errors.clientErrors.get(), r.errors.serverErrors.get(), r.errors.failures.get());
+        }
+    }
+
+    private Result run(String mode, boolean virtualThreads, String... extraArgs) throws Exception {
+        SpringApplicationBuilder app = new SpringApplicationBuilder(StudentmanagementApplication.class);
+        if (virtualThreads) {
+            app.profiles("virtual");
+        }
+
+        // Command-line arguments, so they win over application.properties
+        List<String> args = new ArrayList<>(List.of("--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                "--app.seed.attendance.enabled=false"));
+        args.addAll(List.of(extraArgs));
+        try (ConfigurableApplicationContext ctx = app.run(args.toArray(String[]::new))) {
+            seed(ctx.getBean(JdbcTemplate.class));
+            String base = "http://localhost:" + ((WebServerApplicationContext) ctx).getWebServer().getPort();
+
+            drive(base, WARMUP_SECONDS, new long[1 << 20], new AtomicLong());
+
+            long[] latencies = new long[1 << 22];
+            AtomicLong count = new AtomicLong();
+            Errors errors = drive(base, SECONDS, latencies, count);
+
+            int n = (int) Math.min(count.get(), latencies.length);
+            long[] sorted = Arrays.copyOf(latencies, n);
+            Arrays.sort(sorted);
+            assertTrue(n > 0);
+            assertEquals(virtualThreads, ctx.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class));
+            return new Result(mode, (double) count.get() / SECONDS,
+                    sorted[n / 2] / 1e6, sorted[(int) (n * 0.99)] / 1e6, errors);
+        }
+    }
+
+    /**
+     * Runs CLIENTS closed-loop callers for the given time. count and latencies (in nanoseconds)
+     * cover 2xx responses only; everything else is tallied in the returned Errors.
+     */
+    private Errors drive(String base, int seconds, long[] latencies, AtomicLong count) throws Exception {
+        Errors errors = new Errors();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        try (HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                callers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = nextRequest(base);
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            errors.failures.incrementAndGet();
+                            continue;
+                        }
+                        if (status >= 500) {
+                            errors.serverErrors.incrementAndGet();
+                        } else if (status >= 300) {
+                            errors.clientErrors.incrementAndGet();
+                        } else {
+                            long i = count.getAndIncrement();
+                            if (i < latencies.length) latencies[(int) i] = System.nanoTime() - start;
+                        }
+                    }
+                    return null;
+                });
+            }
+            callers.shutdown();
+            callers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        }
+        return errors;
+    }
+
+    /** 40% student lookups, 20% mark details, 20% attendance pages, 20% attendance writes. */
+    private static HttpRequest nextRequest(String base) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long studentId = FIRST_STUDENT_ID + random.nextInt(STUDENTS);
+        int pick = random.nextInt(10);
+
+        if (pick < 4) {
+            return get(base + "/api/students/" + studentId);
+        } else if (pick < 6) {
+            return get(base + "/api/marks/student/" + studentId + "/details");
+        } else if (pick < 8) {
+            return get(base + "/api/attendance/date/" + DATE + "/page?size=50&page=" + random.nextInt(STUDENTS / 50));
+        }
+        String query = "studentId=" + studentId + "&date=" + DATE.minusDays(random.nextInt(30))
+                + "&present=" + random.nextBoolean();
+        return HttpRequest.newBuilder(URI.create(base + "/api/attendance?" + query))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        List<Object[]> students = LongStream.range(FIRST_STUDENT_ID, FIRST_STUDENT_ID + STUDENTS)
+                .mapToObj(id -> new Object[]{id, "Student " + id, id + "@load.test", 1L + id % 3})
+                .collect(Collectors.toList());
+        jdbc.batchUpdate("INSERT INTO student (id, name, email, course_id) VALUES (?, ?, ?, ?)", students);
+
+        List<Object[]> marks = new ArrayList<>();
+        long markId = 100_000;
+        for (Object[] s : students) {
+            long courseId = (Long) s[3];
+            for (long subject = 1; subject <= 5; subject++) {
+                marks.add(new Object[]{markId++, s[0], (courseId - 1) * 5 + subject, 40 + (int) (markId % 60)});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO mark (id, student_id, subject_id, marks) VALUES (?, ?, ?, ?)", marks);
+    }
+
+    private record Result(String mode, double throughput, double p50Millis, double p99Millis, Errors errors) {
+    }
+
+    /** Non-2xx outcomes: 3xx/4xx responses, 5xx responses, and requests that got no response. */
+    private static class Errors {
+        final AtomicLong clientErrors = new AtomicLong();
+        final AtomicLong serverErrors = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+    }
+}
@@ -0,0 +1,130 @@
+package com.sms.studentmanagement.bitmap;
+
+import com.sms.studentmanagement.controller.AttendanceController;
+import com.sms.studentmanagement.dto.AttendanceBulkDto;
+import com.sms.studentmanagement.dto.AttendanceDayCountDto;
+import com.sms.studentmanagement.dto.AttendanceIndexQueryDto;
+import com.sms.studentmanagement.entity.Attendance;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "app.seed.attendance.enabled=false")
+class AttendanceBitmapIndexTest {
+
+    private static final String MONDAY = "2036-03-03";
+    private static final String TUESDAY = "2036-03-04";
+
+    @Autowired
+    private AttendanceController attendanceController;
+
+    @Autowired
+    private AttendanceBitmapIndex index;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void followsControllerWritesAndMatchesReload() {
+        // Course 1 is students 1 and 2, course 2 is students 3 and 4
+        attendanceController.markAttendance(1L, MONDAY, false);
+        attendanceController.markAttendance(2L, MONDAY, true);
+        attendanceController.markAttendance(3L, MONDAY, false);
+        Attendance cell = attendanceController.markAttendance(2L, TUESDAY, true);
+        attendanceController.updateAttendance(cell.getId(), false);
+
+        AttendanceBulkDto bulk = new AttendanceBulkDto();
+        bulk.setDate(LocalDate.parse(TUESDAY));
+        AttendanceBulkDto.Entry entry = new AttendanceBulkDto.Entry();
+        entry.setStudentId(3L);
+        entry.setPresent(true);
+        bulk.setEntries(List.of(entry));
+        attendanceController.markAttendanceBulk(bulk);
+
+        String absentBoth = "absent(" + MONDAY + ") & absent(" + TUESDAY + ")";
+        assertEquals(List.of(1L), query(absentBoth + " & course(1)").getStudentIds());
+        assertEquals(List.of(4L), query(absentBoth + " & course(2)").getStudentIds());
+        assertEquals(List.of(2L, 3L), query("(present(" + MONDAY + ") | present(" + TUESDAY + ")) & " +
+                "(course(1) | course(2))").getStudentIds());
+        assertEquals(List.of(1L, 2L), query("recorded(" + TUESDAY + ") - present(" + TUESDAY + ") & course(2) " +
+                "| course(1) & recorded(" + MONDAY + ")").getStudentIds());
+
+        List<AttendanceDayCountDto> days = attendanceController.getIndexDayCounts(MONDAY, TUESDAY, 2L, null);
+        assertEquals(2, days.size());
+        assertEquals(0, days.get(0).getPresent());
+        assertEquals(2, days.get(0).getAbsent());
+        assertEquals(1, days.get(0).getRecorded());
+        assertEquals(1, days.get(1).getPresent());
+
+        List<AttendanceDayCountDto> mondays = attendanceController.getIndexDayCounts(MONDAY, TUESDAY, 1L, DayOfWeek.MONDAY);
+        assertEquals(1, mondays.size());
+        assertEquals(1, mondays.get(0).getPresent());
+
+        // A full rebuild from the tables answers the same
+        AttendanceIndexQueryDto incremental = query("recorded(" + TUESDAY + ") - present(" + TUESDAY + ")");
+        index.reload();
+        AttendanceIndexQueryDto reloaded = query("recorded(" + TUESDAY + ") - present(" + TUESDAY + ")");
+        assertEquals(reloaded.getStudentIds(), incremental.getStudentIds());
+        assertEquals(reloaded.getCount(), incremental.getCount());
+    }
+
+    @Test
+    void rolledBackWritesAreNotApplied() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            index.recordCell(5L, LocalDate.parse("2036-05-05"), true);
+            status.setRollbackOnly();
+        });
+        assertEquals(0, query("present(2036-05-05)").getCount());
+    }
+
+    @Test
+    void writesCommittedWhileReloadingAreKept() throws Exception {
+        // Course 3 is students 5 and 6
+        LocalDate first = LocalDate.parse("2037-01-01");
+        int marks = 200;
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writes = writer.submit(() -> {
+                for (int i = 0; i < marks; i++) {
+                    attendanceController.markAttendance(6L, first.plusDays(i).toString(), true);
+                }
+            });
+            while (!writes.isDone()) {
+                index.reload();
+            }
+            writes.get();
+        } finally {
+            writer.shutdownNow();
+        }
+
+        int present = attendanceController.getIndexDayCounts(first.toString(), first.plusDays(marks).toString(), 3L, null)
+                .stream().mapToInt(AttendanceDayCountDto::getPresent).sum();
+        assertEquals(marks, present);
+    }
+
+    @Test
+    void rejectsMalformedQueries() {
+        for (String q : List.of("", "present(2036-13-01)", "course(x)", "absent(2036-03-03", "present(2036-03-03) &",
+                "unknown(1)", "all all")) {
+            assertThrows(ResponseStatusException.class, () -> attendanceController.queryAttendanceIndex(q, 10), q);
+        }
+    }
+
+    private AttendanceIndexQueryDto query(String q) {
+        return attendanceController.queryAttendanceIndex(q, 100);
+    }
+}
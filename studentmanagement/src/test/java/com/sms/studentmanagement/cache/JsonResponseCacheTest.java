@@ -0,0 +1,54 @@
+package com.sms.studentmanagement.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JsonResponseCacheTest {
+
+    private final JsonResponseCache cache = new JsonResponseCache(new ObjectMapper());
+
+    @Test
+    void emptyResultsAreServedButNotKept() {
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            ResponseEntity<byte[]> response = cache.get("subjects/by-course/9999", null, () -> {
+                loads.incrementAndGet();
+                return List.of();
+            });
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals("[]", new String(response.getBody()));
+        }
+        assertEquals(3, loads.get());
+
+        for (int i = 0; i < 3; i++) {
+            cache.get("subjects", null, () -> {
+                loads.incrementAndGet();
+                return List.of("Maths");
+            });
+        }
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void ifNoneMatchAcceptsTagListsWeakTagsAndWildcard() {
+        String etag = cache.get("courses", null, () -> List.of("BCA")).getHeaders().getETag();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, status(etag));
+        assertEquals(HttpStatus.NOT_MODIFIED, status("\"stale\", " + etag));
+        assertEquals(HttpStatus.NOT_MODIFIED, status("\"stale\",W/" + etag));
+        assertEquals(HttpStatus.NOT_MODIFIED, status("*"));
+        assertEquals(HttpStatus.OK, status("\"stale\", W/\"other\""));
+        assertEquals(HttpStatus.OK, status(null));
+    }
+
+    private HttpStatus status(String ifNoneMatch) {
+        return (HttpStatus) cache.get("courses", ifNoneMatch, () -> List.of("BCA")).getStatusCode();
+    }
+}
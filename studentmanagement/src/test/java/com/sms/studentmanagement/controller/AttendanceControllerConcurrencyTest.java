@@ -0,0 +1,89 @@
+package com.sms.studentmanagement.controller;
+
+import com.sms.studentmanagement.entity.Attendance;
+import com.sms.studentmanagement.repository.AttendanceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "app.seed.attendance.enabled=false")
+class AttendanceControllerConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int MARKS = 400;
+
+    @Autowired
+    private AttendanceController attendanceController;
+
+    @Autowired
+    private AttendanceRepository attendanceRepo;
+
+    @Test
+    void concurrentMarksOnSameCellKeepOneRow() throws Exception {
+        LocalDate date = LocalDate.of(2030, 1, 1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Attendance>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < MARKS; i++) {
+                boolean present = i % 2 == 0;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return attendanceController.markAttendance(1L, date.toString(), present);
+                }));
+            }
+            start.countDown();
+            for (Future<Attendance> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long rows = attendanceRepo.findByStudentId(1L).stream()
+                .filter(a -> a.getDate().equals(date))
+                .count();
+        assertEquals(1, rows);
+
+        Long id = results.get(0).get().getId();
+        results.forEach(r -> assertEquals(id, getQuietly(r).getId()));
+    }
+
+    @Test
+    void duplicateCellIsRejectedByIndex() {
+        LocalDate date = LocalDate.of(2030, 1, 2);
+        attendanceController.markAttendance(2L, date.toString(), true);
+
+        Attendance duplicate = new Attendance();
+        duplicate.setStudent(attendanceRepo.findByStudentIdAndDate(2L, date).orElseThrow().getStudent());
+        duplicate.setDate(date);
+        assertThrows(DataIntegrityViolationException.class, () -> attendanceRepo.saveAndFlush(duplicate));
+    }
+
+    @Test
+    void markForUnknownStudentFails() {
+        assertThrows(RuntimeException.class,
+                () -> attendanceController.markAttendance(9999L, "2030-01-03", true));
+    }
+
+    private static Attendance getQuietly(Future<Attendance> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
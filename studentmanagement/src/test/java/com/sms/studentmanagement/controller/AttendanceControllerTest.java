@@ -0,0 +1,76 @@
+package com.sms.studentmanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.seed.attendance.enabled=false")
+@AutoConfigureMockMvc
+class AttendanceControllerTest {
+
+    private static final String DATE = "2033-04-01";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void madeUpAbsentRowCanBeSavedByStudentAndDate() throws Exception {
+        mockMvc.perform(post("/api/attendance").param("studentId", "1").param("date", DATE).param("present", "true"))
+                .andExpect(status().isOk());
+
+        // Student 2 has no row yet, so it is reported absent without an id
+        JsonNode madeUp = cellFor(2);
+        assertTrue(madeUp.get("id").isNull());
+        assertFalse(madeUp.get("present").asBoolean());
+
+        // What the attendance page sends when such a row is edited
+        mockMvc.perform(post("/api/attendance/mark")
+                        .param("studentId", "2").param("date", DATE).param("present", "true"))
+                .andExpect(status().isOk());
+
+        JsonNode saved = cellFor(2);
+        assertFalse(saved.get("id").isNull());
+        assertTrue(saved.get("present").asBoolean());
+    }
+
+    @Test
+    void matrixRejectsRangesAboveTheMaximum() throws Exception {
+        mockMvc.perform(get("/api/attendance/matrix").param("from", "0001-01-01").param("to", "9999-12-31"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/attendance/matrix").param("from", "2033-01-01").param("to", "2033-12-31"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void defaultersRejectsAnInvalidAsOf() throws Exception {
+        mockMvc.perform(get("/api/attendance/defaulters").param("asOf", "2035-02-30"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/attendance/defaulters").param("asOf", "2035-02-28"))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode cellFor(long studentId) throws Exception {
+        JsonNode cells = objectMapper.readTree(mockMvc.perform(get("/api/attendance/date/" + DATE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        for (JsonNode cell : cells) {
+            if (cell.get("student").get("id").asLong() == studentId) {
+                return cell;
+            }
+        }
+        throw new AssertionError("No cell for student " + studentId);
+    }
+}
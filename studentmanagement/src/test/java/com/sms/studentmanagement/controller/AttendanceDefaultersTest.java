@@ -0,0 +1,163 @@
+package com.sms.studentmanagement.controller;
+
+import com.sms.studentmanagement.dto.AttendanceDefaulter;
+import com.sms.studentmanagement.entity.Student;
+import com.sms.studentmanagement.repository.CourseRepository;
+import com.sms.studentmanagement.repository.StudentRepository;
+import com.sms.studentmanagement.summary.AttendanceSummaryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "app.seed.attendance.enabled=false")
+class AttendanceDefaultersTest {
+
+    @Autowired
+    private AttendanceController attendanceController;
+
+    @Autowired
+    private AttendanceSummaryService summaryService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private StudentRepository studentRepo;
+
+    @Autowired
+    private CourseRepository courseRepo;
+
+    @Test
+    void studentsBelowThresholdInWindow() {
+        // Student 1 (BCA): 2 of 4 days in the window; student 2 (BCA): 4 of 4; student 3 (BBA): 1 of 4
+        for (int day = 1; day <= 4; day++) {
+            String date = "2035-01-0" + day;
+            attendanceController.markAttendance(1L, date, day % 2 == 0);
+            attendanceController.markAttendance(2L, date, true);
+            attendanceController.markAttendance(3L, date, day == 1);
+        }
+        // Outside the window: would lift student 1 above 75%
+        for (int day = 10; day <= 20; day++) {
+            attendanceController.markAttendance(1L, "2034-12-" + day, true);
+        }
+
+        // A BCA student with no attendance rows at all: absent on every date on record
+        Student neverMarked = new Student();
+        neverMarked.setName("Never Marked");
+        neverMarked.setEmail("never.marked@example.com");
+        neverMarked.setCourse(courseRepo.getReferenceById(1L));
+        Long neverMarkedId = studentRepo.save(neverMarked).getId();
+
+        List<AttendanceDefaulter> all = attendanceController.getDefaulters(75, 4, null, "2035-01-04");
+        AttendanceDefaulter student3 = find(all, 3L);
+        assertEquals(25.0, student3.getPercentage());
+        assertEquals(1L, student3.getPresentCount());
+        assertEquals(4L, student3.getTotalCount());
+        assertEquals(50.0, find(all, 1L).getPercentage());
+        assertTrue(all.stream().noneMatch(d -> d.getStudentId() == 2L));
+        AttendanceDefaulter unmarked = find(all, neverMarkedId);
+        assertEquals(0L, unmarked.getPresentCount());
+        assertEquals(4L, unmarked.getTotalCount());
+        assertEquals(0.0, unmarked.getPercentage());
+        // Student 4 has no rows in the window either
+        assertEquals(0L, find(all, 4L).getPresentCount());
+        List<Double> percentages = all.stream().map(AttendanceDefaulter::getPercentage).toList();
+        assertEquals(percentages.stream().sorted().toList(), percentages);
+
+        List<AttendanceDefaulter> bca = attendanceController.getDefaulters(75, 4, 1L, "2035-01-04");
+        assertTrue(bca.stream().allMatch(d -> d.getCourseId() == 1L));
+        assertEquals("BCA", find(bca, 1L).getCourseName());
+        assertEquals(List.of(neverMarkedId, 1L), bca.stream().map(AttendanceDefaulter::getStudentId)
+                .filter(id -> id == 1L || id.equals(neverMarkedId)).toList());
+
+        List<AttendanceDefaulter> low = attendanceController.getDefaulters(10, 4, null, "2035-01-04");
+        assertTrue(low.stream().allMatch(d -> d.getPresentCount() == 0));
+        assertTrue(low.stream().noneMatch(d -> d.getStudentId() == 3L));
+
+        // No dates on record in the window: nobody has a denominator
+        assertTrue(attendanceController.getDefaulters(75, 4, null, "2035-01-24").isEmpty());
+    }
+
+    @Test
+    void windowSpanningWholeMonthsUsesSummaries() {
+        // 2037-11-26 .. 2038-01-04: partial November, all of December, partial January
+        attendanceController.markAttendance(4L, "2037-11-26", false);
+        attendanceController.markAttendance(4L, "2037-11-25", false); // before the window
+        for (int day = 1; day <= 31; day++) {
+            attendanceController.markAttendance(4L, String.format("2037-12-%02d", day), day <= 10);
+        }
+        attendanceController.markAttendance(4L, "2038-01-04", true);
+        attendanceController.markAttendance(4L, "2038-01-05", true); // after the window
+
+        List<AttendanceDefaulter> defaulters = attendanceController.getDefaulters(75, 40, 2L, "2038-01-04");
+        AttendanceDefaulter student = defaulters.stream()
+                .filter(d -> d.getStudentId() == 4L).findFirst().orElseThrow();
+        assertEquals(11L, student.getPresentCount());
+        assertEquals(33L, student.getTotalCount());
+
+        // 2037-11-03 .. 2037-12-29: both edges are mostly inside the window, so they are read as
+        // the month summaries less Nov 1-2 and Dec 30-31
+        student = attendanceController.getDefaulters(75, 57, 2L, "2037-12-29").stream()
+                .filter(d -> d.getStudentId() == 4L).findFirst().orElseThrow();
+        assertEquals(10L, student.getPresentCount());
+        assertEquals(31L, student.getTotalCount());
+
+        // A one-day window on the 1st must not pick up that month's summary
+        assertTrue(attendanceController.getDefaulters(75, 1, 2L, "2037-12-01").stream()
+                .noneMatch(d -> d.getStudentId() == 4L));
+        student = find(attendanceController.getDefaulters(75, 1, 2L, "2037-12-11"), 4L);
+        assertEquals(0L, student.getPresentCount());
+        assertEquals(1L, student.getTotalCount());
+    }
+
+    private static AttendanceDefaulter find(List<AttendanceDefaulter> defaulters, Long studentId) {
+        return defaulters.stream().filter(d -> d.getStudentId().equals(studentId)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void rejectsOutOfRangeParameters() {
+        assertThrows(ResponseStatusException.class, () -> attendanceController.getDefaulters(120, 30, null, null));
+        assertThrows(ResponseStatusException.class, () -> attendanceController.getDefaulters(75, 0, null, null));
+        assertThrows(ResponseStatusException.class, () -> attendanceController.getDefaulters(75, 30, null, "2035-02-30"));
+        assertThrows(ResponseStatusException.class, () -> attendanceController.getDefaulters(75, 30, null, "yesterday"));
+    }
+
+    /**
+     * Run with: mvn test -Dbenchmarks=true -Dtest=AttendanceDefaultersTest -DargLine=-Xmx3g
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void tenThousandStudentsOverAYear() {
+        jdbc.update("INSERT INTO student (id, name, email, course_id) " +
+                    "SELECT 200000 + x, 'Student ' || x, x || '@bench.test', 1 + MOD(x, 3) FROM SYSTEM_RANGE(0, 9999)");
+        jdbc.update("INSERT INTO attendance (id, student_id, date, present) " +
+                    "SELECT NEXT VALUE FOR attendance_seq, 200000 + s.x, DATEADD(DAY, d.x, DATE '2040-01-01'), " +
+                    "MOD(s.x * 31 + d.x * 7, 100) < 73 + MOD(s.x, 10) " +
+                    "FROM SYSTEM_RANGE(0, 9999) s CROSS JOIN SYSTEM_RANGE(0, 364) d");
+        summaryService.rebuild();
+
+        attendanceController.getDefaulters(75, 365, null, "2040-12-30"); // warm up
+        for (int window : new int[]{7, 30, 90, 365}) {
+            long best = Long.MAX_VALUE;
+            int students = 0;
+            // A different asOf per run, so H2 cannot hand back the previous result
+            for (int run = 0; run < 3; run++) {
+                String asOf = "2040-12-" + (30 - run);
+                long start = System.nanoTime();
+                students = attendanceController.getDefaulters(75, window, null, asOf).size();
+                best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+            }
+            System.out.printf("defaulters 10k students x 365 days, window %3d: %,6d ms best of 3 ending Dec 28-30 (%,d students)%n",
+                    window, best, students);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.sms.studentmanagement.controller;
+
+import com.sms.studentmanagement.dto.AttendanceBulkDto;
+import com.sms.studentmanagement.dto.AttendanceSummaryDto;
+import com.sms.studentmanagement.entity.Attendance;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "app.seed.attendance.enabled=false")
+class AttendanceSummaryTest {
+
+    @Autowired
+    private AttendanceController attendanceController;
+
+    @Autowired
+    private ImportController importController;
+
+    @Test
+    void summaryFollowsEveryWritePathAndMatchesRebuild() {
+        attendanceController.markAttendance(3L, "2032-01-10", true);
+        attendanceController.markAttendance(3L, "2032-01-11", false);
+        attendanceController.markAttendance(3L, "2032-01-11", true);   // overwrite: absent -> present
+        Attendance feb = attendanceController.markAttendance(3L, "2032-02-01", true);
+        attendanceController.updateAttendance(feb.getId(), false);     // present -> absent
+        attendanceController.updateAttendance(feb.getId(), false);     // no change
+
+        AttendanceBulkDto bulk = new AttendanceBulkDto();
+        bulk.setDate(LocalDate.of(2032, 1, 12));
+        bulk.setEntries(List.of(entry(3L, true), entry(4L, false)));
+        attendanceController.markAttendanceBulk(bulk);
+        bulk.setEntries(List.of(entry(4L, true)));
+        attendanceController.markAttendanceBulk(bulk);                 // existing cell updated
+
+        attendanceController.initializeAttendanceForNewStudents();    // absent rows for everyone else
+
+        AttendanceSummaryDto student3 = attendanceController.getAttendanceSummary(3L, null).get(0);
+        AttendanceSummaryDto.Month jan = month(student3, YearMonth.of(2032, 1));
+        assertEquals(3, jan.getPresentCount());
+        assertEquals(3, jan.getTotalCount());
+        AttendanceSummaryDto.Month february = month(student3, YearMonth.of(2032, 2));
+        assertEquals(0, february.getPresentCount());
+        assertEquals(1, february.getTotalCount());
+
+        AttendanceSummaryDto.Month student4Jan = month(attendanceController.getAttendanceSummary(4L, null).get(0),
+                YearMonth.of(2032, 1));
+        assertEquals(1, student4Jan.getPresentCount());
+        assertEquals(3, student4Jan.getTotalCount());
+
+        assertIncrementalMatchesRebuild();
+    }
+
+    @Test
+    void importedCellsRefreshTheirMonths() {
+        attendanceController.markAttendance(6L, "2034-05-01", false);
+        String csv = "studentId,date,present\n6,2034-05-01,true\n6,2034-05-02,true\n6,2034-06-01,false\n";
+        importController.importAttendance(new MockMultipartFile("file", "a.csv", "text/csv", csv.getBytes()));
+
+        AttendanceSummaryDto student6 = attendanceController.getAttendanceSummary(6L, null).get(0);
+        assertEquals(2, month(student6, YearMonth.of(2034, 5)).getPresentCount());
+        assertEquals(2, month(student6, YearMonth.of(2034, 5)).getTotalCount());
+        assertEquals(1, month(student6, YearMonth.of(2034, 6)).getTotalCount());
+        assertIncrementalMatchesRebuild();
+    }
+
+    @Test
+    void concurrentMarksOnOneCellCountItOnce() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Attendance>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                boolean present = i % 2 == 0;
+                results.add(pool.submit(() -> attendanceController.markAttendance(5L, "2033-03-03", present)));
+            }
+            for (Future<Attendance> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        AttendanceSummaryDto.Month march = month(attendanceController.getAttendanceSummary(5L, null).get(0),
+                YearMonth.of(2033, 3));
+        assertEquals(1, march.getTotalCount());
+        assertIncrementalMatchesRebuild();
+    }
+
+    @Test
+    void rebuildRunsAlongsideWriters() throws Exception {
+        // Four students marked day by day into new months while the summary is rebuilt over and over
+        LocalDate first = LocalDate.of(2039, 1, 1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> writers = new ArrayList<>();
+        try {
+            for (long studentId = 1; studentId <= 4; studentId++) {
+                long id = studentId;
+                writers.add(pool.submit(() -> {
+                    for (int day = 0; day < 90; day++) {
+                        attendanceController.markAttendance(id, first.plusDays(day).toString(), day % 3 == 0);
+                    }
+                }));
+            }
+            int rebuilds = 0;
+            while (rebuilds == 0 || writers.stream().anyMatch(w -> !w.isDone())) {
+                attendanceController.rebuildAttendanceSummary();
+                rebuilds++;
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        AttendanceSummaryDto.Month jan = month(attendanceController.getAttendanceSummary(2L, null).get(0),
+                YearMonth.of(2039, 1));
+        assertEquals(11, jan.getPresentCount());
+        assertEquals(31, jan.getTotalCount());
+        assertIncrementalMatchesRebuild();
+    }
+
+    private void assertIncrementalMatchesRebuild() {
+        String incremental = render(attendanceController.getAttendanceSummary(null, null));
+        attendanceController.rebuildAttendanceSummary();
+        assertEquals(render(attendanceController.getAttendanceSummary(null, null)), incremental);
+    }
+
+    private static String render(List<AttendanceSummaryDto> summaries) {
+        StringBuilder out = new StringBuilder();
+        summaries.forEach(s -> s.getMonths().forEach(m -> out.append(s.getStudentId()).append(' ')
+                .append(m.getMonth()).append(' ').append(m.getPresentCount()).append('/')
+                .append(m.getTotalCount()).append('\n')));
+        return out.toString();
+    }
+
+    private static AttendanceSummaryDto.Month month(AttendanceSummaryDto summary, YearMonth month) {
+        return summary.getMonths().stream().filter(m -> m.getMonth().equals(month)).findFirst().orElseThrow();
+    }
+
+    private static AttendanceBulkDto.Entry entry(Long studentId, boolean present) {
+        AttendanceBulkDto.Entry entry = new AttendanceBulkDto.Entry();
+        entry.setStudentId(studentId);
+        entry.setPresent(present);
+        return entry;
+    }
+}
@@ -0,0 +1,91 @@
+package com.sms.studentmanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.seed.attendance.enabled=false")
+@AutoConfigureMockMvc
+class CourseControllerTest {
+
+    private static final int COURSES = 4;
+    private static final int CUSTOM_SUBJECTS = 60;
+    // {"id":…,"name":"…","subjects":[]} and {"id":…,"name":"…"} with names under 40 characters
+    private static final int MAX_BYTES_PER_COURSE = 96;
+    private static final int MAX_BYTES_PER_SUBJECT = 64;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void listingReturnsEachCourseOnceWithAllItsSubjects() throws Exception {
+        Set<Long> created = new HashSet<>();
+        for (int c = 0; c < COURSES; c++) {
+            List<String> subjects = IntStream.range(0, CUSTOM_SUBJECTS)
+                    .mapToObj(i -> "Subject " + i)
+                    .collect(Collectors.toList());
+            String response = mockMvc.perform(post("/api/courses")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    Map.of("name", "Many Subjects " + c, "subjects", subjects))))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            created.add(objectMapper.readTree(response).get("id").asLong());
+        }
+
+        byte[] body = mockMvc.perform(get("/api/courses"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode courses = objectMapper.readTree(body);
+
+        // Other tests may have added courses too, so only the ones created here are counted
+        Set<Long> ids = new HashSet<>();
+        Set<Long> listed = new HashSet<>();
+        int subjectEntries = 0;
+        for (JsonNode course : courses) {
+            long id = course.get("id").asLong();
+            assertTrue(ids.add(id), "course listed twice: " + course.get("name"));
+            subjectEntries += course.get("subjects").size();
+            if (created.contains(id)) {
+                listed.add(id);
+                // 2 default subjects + custom
+                assertEquals(2 + CUSTOM_SUBJECTS, course.get("subjects").size(), "subjects of " + course.get("name"));
+            }
+        }
+        assertEquals(created, listed);
+
+        // Budget from the table sizes, not from the response: a row-multiplying listing would
+        // repeat each course (with all its subjects) once per subject and blow far past it
+        long courseRows = jdbc.queryForObject("SELECT COUNT(*) FROM course", Long.class);
+        long subjectRows = jdbc.queryForObject("SELECT COUNT(*) FROM subject", Long.class);
+        assertEquals(subjectRows, subjectEntries, "every subject is listed exactly once");
+        long budget = courseRows * MAX_BYTES_PER_COURSE + subjectRows * MAX_BYTES_PER_SUBJECT;
+        assertTrue(body.length <= budget, "payload is " + body.length + " bytes, budget is " + budget
+                + " for " + courseRows + " courses and " + subjectRows + " subjects");
+    }
+}
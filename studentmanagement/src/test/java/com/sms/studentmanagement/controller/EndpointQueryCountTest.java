@@ -0,0 +1,81 @@
+package com.sms.studentmanagement.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements each read endpoint issues, including lazy loads during JSON
+ * serialization, so that fetch regressions (N+1, lost entity graphs) fail the build.
+ */
+@SpringBootTest(properties = {
+        "app.seed.attendance.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class EndpointQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String date : new String[]{"2030-01-01", "2030-01-02"}) {
+            mockMvc.perform(put("/api/attendance/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"date\":\"" + date + "\",\"entries\":[" +
+                                    "{\"studentId\":1,\"present\":true},{\"studentId\":3,\"present\":false}," +
+                                    "{\"studentId\":5,\"present\":true}]}"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @ParameterizedTest(name = "{0} <= {1} statements")
+    @CsvSource({
+            "/api/students,                       2",
+            "/api/students/1,                     2",
+            "/api/attendance,                     4",
+            "/api/attendance/student/1,           2",
+            "/api/attendance/date/2030-01-01,     3",
+            "/api/attendance/matrix?from=2030-01-01&to=2030-01-31, 2",
+            "/api/marks,                          2",
+            "/api/marks/by-student/1,             2",
+            "/api/marks/student/1/details,        2",
+            "/api/marks/student/1/total,          1",
+            "/api/marks/student/1/stats,          1",
+            "/api/marks/course/1/sheet,           2",
+            "/api/marks/course/1/stats,           1",
+            "/api/courses,                        2",
+            "/api/courses/1,                      1",
+            "/api/subjects,                       1",
+            "/api/subjects/by-course/1,           1"
+    })
+    void endpointStaysWithinStatementBudget(String url, long budget) throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= budget,
+                () -> url + " issued " + statements + " SQL statements, budget is " + budget);
+    }
+}
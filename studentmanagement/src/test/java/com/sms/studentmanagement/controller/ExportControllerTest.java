@@ -0,0 +1,103 @@
+package com.sms.studentmanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.seed.attendance.enabled=false")
+@AutoConfigureMockMvc
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private AttendanceController attendanceController;
+
+    @Autowired
+    private ExportController exportController;
+
+    @Test
+    void attendanceExportHasOneLinePerRow() throws Exception {
+        attendanceController.markAttendance(1L, "2042-01-01", true);
+        attendanceController.markAttendance(2L, "2042-01-01", false);
+
+        List<JsonNode> records = export("/api/export/attendance.ndjson");
+        assertEquals(jdbc.queryForList("SELECT id FROM attendance ORDER BY id", Long.class),
+                records.stream().map(r -> r.get("id").asLong()).toList());
+        JsonNode marked = records.stream()
+                .filter(r -> r.get("studentId").asLong() == 2 && r.get("date").asText().equals("2042-01-01"))
+                .findFirst().orElseThrow();
+        assertFalse(marked.get("present").asBoolean());
+    }
+
+    @Test
+    void marksExportHasOneLinePerRow() throws Exception {
+        List<JsonNode> records = export("/api/export/marks.ndjson");
+        assertEquals(jdbc.queryForList("SELECT id FROM mark ORDER BY id", Long.class),
+                records.stream().map(r -> r.get("id").asLong()).toList());
+        JsonNode first = records.get(0);
+        assertEquals(jdbc.queryForObject("SELECT marks FROM mark WHERE id = ?", Integer.class,
+                first.get("id").asLong()), first.get("marks").asInt());
+        assertTrue(first.has("studentId") && first.has("subjectId"));
+    }
+
+    @Test
+    void emptyResultWritesNothing() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportController.write(out, Stream::empty, (gen, row) -> { });
+        assertEquals(0, out.size());
+
+        out.reset();
+        exportController.write(out, () -> Stream.of(new Object[]{1L}, new Object[]{2L}),
+                (gen, row) -> gen.writeNumberField("id", (Long) row[0]));
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    /** Runs the streaming request to completion and parses every line; a blank line fails the parse. */
+    private List<JsonNode> export(String url) throws Exception {
+        MvcResult started = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertTrue(body.endsWith("\n"), "every record is newline-terminated");
+        List<JsonNode> records = new ArrayList<>();
+        for (String line : body.substring(0, body.length() - 1).split("\n", -1)) {
+            JsonNode record = objectMapper.readTree(line);
+            assertTrue(record != null && record.isObject(), "not a JSON object: '" + line + "'");
+            records.add(record);
+        }
+        return records;
+    }
+}
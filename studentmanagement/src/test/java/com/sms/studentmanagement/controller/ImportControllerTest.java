@@ -0,0 +1,150 @@
+package com.sms.studentmanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sms.studentmanagement.entity.Attendance;
+import com.sms.studentmanagement.repository.AttendanceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Chunks of 3 rows, so a few lines span several transactions
+@SpringBootTest(properties = {
+        "app.seed.attendance.enabled=false",
+        "app.import.chunk-size=3"
+})
+@AutoConfigureMockMvc
+class ImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private AttendanceRepository attendanceRepo;
+
+    @Test
+    void parsesQuotedFieldsAndEscapes() {
+        assertArrayEquals(new String[]{"a", "b", "c"}, ImportController.parseCsvLine("a, b ,c"));
+        assertArrayEquals(new String[]{"Doe, Jane", "x"}, ImportController.parseCsvLine("\"Doe, Jane\",x"));
+        assertArrayEquals(new String[]{"say \"hi\"", ""}, ImportController.parseCsvLine("\"say \"\"hi\"\"\","));
+        assertArrayEquals(new String[]{"", "", ""}, ImportController.parseCsvLine(",,"));
+        assertEquals(1, ImportController.parseCsvLine("").length);
+        assertThrows(IllegalArgumentException.class, () -> ImportController.parseCsvLine("\"open,1,2"));
+    }
+
+    @Test
+    void reportsEachRejectedLine() throws Exception {
+        String csv = "studentId,subjectId,marks\n" +
+                     "1,1,70\n" +                 // line 2
+                     "999999,1,70\n" +            // line 3: unknown student
+                     "\n" +                       // line 4: skipped
+                     "1,999999,70\n" +            // line 5: unknown subject
+                     "1,2\n" +                    // line 6: column count
+                     "1,2,\"eighty\"\n" +         // line 7: not a number
+                     "\"1,2,70\n" +               // line 8: unterminated quote
+                     "2,\"2\",65\n";              // line 9
+        JsonNode report = upload("/api/import/marks", csv);
+
+        assertEquals(7, report.get("processed").asInt());
+        assertEquals(2, report.get("imported").asInt());
+        assertEquals(5, report.get("failed").asInt());
+        JsonNode errors = report.get("errors");
+        assertEquals(List.of(3L, 5L, 6L, 7L, 8L), lines(errors));
+        assertEquals("Student 999999 not found", errors.get(0).get("message").asText());
+        assertEquals("Subject 999999 not found", errors.get(1).get("message").asText());
+        assertEquals("Expected 3 columns but found 2", errors.get(2).get("message").asText());
+        assertEquals("marks must be a number: 'eighty'", errors.get(3).get("message").asText());
+        assertEquals("Unterminated quoted field", errors.get(4).get("message").asText());
+
+        JsonNode courseReport = upload("/api/import/students",
+                "name,email,courseId\nNo Course,no.course@import.test,424242\n");
+        assertEquals(0, courseReport.get("imported").asInt());
+        assertEquals("Course 424242 not found", courseReport.get("errors").get(0).get("message").asText());
+    }
+
+    @Test
+    void rejectedChunkIsRolledBackAndRetriedRowByRow() throws Exception {
+        // Lines 2-4, 5-7 and 8 are the three chunks; line 6 is too long for student.name
+        StringBuilder csv = new StringBuilder("name,email,courseId\n");
+        for (int i = 1; i <= 7; i++) {
+            String name = i == 5 ? "x".repeat(300) : "Chunk " + i;
+            csv.append(name).append(",chunk").append(i).append("@import.test,1\n");
+        }
+        JsonNode report = upload("/api/import/students", csv.toString());
+
+        assertEquals(7, report.get("processed").asInt());
+        assertEquals(6, report.get("imported").asInt());
+        assertEquals(1, report.get("failed").asInt());
+        JsonNode error = report.get("errors").get(0);
+        assertEquals(6, error.get("line").asLong());
+        assertTrue(error.get("message").asText().startsWith("Rejected by database"));
+
+        // Every good row is in exactly once, including the retried neighbours of the bad one
+        List<String> emails = jdbc.queryForList(
+                "SELECT email FROM student WHERE email LIKE 'chunk%@import.test' ORDER BY email", String.class);
+        assertEquals(List.of("chunk1@import.test", "chunk2@import.test", "chunk3@import.test",
+                "chunk4@import.test", "chunk6@import.test", "chunk7@import.test"), emails);
+    }
+
+    @Test
+    void attendanceChunksOverwriteExistingCells() throws Exception {
+        String csv = "studentId,date,present\n" +
+                     "3,2041-01-01,present\n" +
+                     "3,2041-01-02,a\n" +
+                     "3,2041-01-03,1\n" +
+                     "3,2041-01-04,0\n" +
+                     "3,2041-01-01,absent\n" + // second chunk overwrites the first row
+                     "3,2041-13-01,1\n";
+        JsonNode report = upload("/api/import/attendance", csv);
+        assertEquals(5, report.get("imported").asInt());
+        assertEquals("date must be yyyy-MM-dd: '2041-13-01'", report.get("errors").get(0).get("message").asText());
+
+        List<Attendance> rows = attendanceRepo.findByStudentId(3L).stream()
+                .filter(a -> a.getDate().getYear() == 2041).toList();
+        assertEquals(4, rows.size());
+        assertEquals(List.of(LocalDate.of(2041, 1, 3)),
+                rows.stream().filter(Attendance::isPresent).map(Attendance::getDate).toList());
+
+        // Each committed chunk refreshes the summary months it touched
+        Map<String, Object> month = jdbc.queryForMap("SELECT present_count, total_count FROM attendance_summary " +
+                "WHERE student_id = 3 AND month_start = DATE '2041-01-01'");
+        assertEquals(1, ((Number) month.get("PRESENT_COUNT")).intValue());
+        assertEquals(4, ((Number) month.get("TOTAL_COUNT")).intValue());
+    }
+
+    private JsonNode upload(String url, String csv) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "import.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+        return objectMapper.readTree(mockMvc.perform(multipart(url).file(file))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static List<Long> lines(JsonNode errors) {
+        return StreamSupport.stream(errors.spliterator(), false)
+                .map(e -> e.get("line").asLong()).toList();
+    }
+}
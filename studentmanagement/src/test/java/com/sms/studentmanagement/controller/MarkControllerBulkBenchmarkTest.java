@@ -0,0 +1,125 @@
+package com.sms.studentmanagement.controller;
+
+import com.sms.studentmanagement.controller.MarkController.MarkUpdateDto;
+import com.sms.studentmanagement.entity.Mark;
+import com.sms.studentmanagement.entity.Student;
+import com.sms.studentmanagement.entity.Subject;
+import com.sms.studentmanagement.repository.MarkRepository;
+import com.sms.studentmanagement.repository.StudentRepository;
+import com.sms.studentmanagement.repository.SubjectRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the old per-row bulk mark path with MarkController.updateMarksBulk.
+ * Run with: mvn test -Dbenchmarks=true -Dtest=MarkControllerBulkBenchmarkTest
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SpringBootTest(properties = "app.seed.attendance.enabled=false")
+class MarkControllerBulkBenchmarkTest {
+
+    private static final long BCA_COURSE_ID = 1L;
+    private static final List<Long> BCA_SUBJECT_IDS = List.of(1L, 2L, 3L, 4L, 5L);
+
+    @Autowired
+    private MarkController markController;
+
+    @Autowired
+    private MarkRepository markRepo;
+
+    @Autowired
+    private StudentRepository studentRepo;
+
+    @Autowired
+    private SubjectRepository subjectRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private long nextStudentId = 100_000;
+
+    @Test
+    void bulkMarksSpeedup() {
+        // Warm up both paths so JIT and connection pool effects don't skew the first size
+        measure(200, this::legacyUpdateMarksBulk);
+        measure(200, markController::updateMarksBulk);
+
+        for (int size : new int[]{1_000, 10_000}) {
+            long legacy = measure(size, this::legacyUpdateMarksBulk);
+            long bulk = measure(size, markController::updateMarksBulk);
+            System.out.printf("updateMarksBulk %,6d creates + %,6d updates: legacy %,6d ms, bulk %,6d ms (%.1fx)%n",
+                    size, size, legacy, bulk, (double) legacy / bulk);
+        }
+    }
+
+    /** Creates {@code size} marks, then updates them all; returns the elapsed milliseconds. */
+    private long measure(int size, Function<List<MarkUpdateDto>, List<Mark>> bulkUpdate) {
+        List<Long> studentIds = insertStudents(size / BCA_SUBJECT_IDS.size());
+
+        List<MarkUpdateDto> creates = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            for (Long subjectId : BCA_SUBJECT_IDS) {
+                creates.add(dto(null, studentId, subjectId, 50));
+            }
+        }
+
+        long start = System.nanoTime();
+        List<Mark> created = bulkUpdate.apply(creates);
+        List<MarkUpdateDto> updates = created.stream()
+                .map(m -> dto(m.getId(), null, null, 75))
+                .collect(Collectors.toList());
+        List<Mark> updated = bulkUpdate.apply(updates);
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(size, updated.size());
+        return elapsed;
+    }
+
+    /** The pre-batching implementation: 2-3 round trips per row and no surrounding transaction. */
+    private List<Mark> legacyUpdateMarksBulk(List<MarkUpdateDto> updates) {
+        return updates.stream().map(dto -> {
+            if (dto.getMarkId() != null) {
+                Mark mark = markRepo.findById(dto.getMarkId()).orElseThrow();
+                mark.setMarks(dto.getMarks());
+                return markRepo.save(mark);
+            }
+            Student student = studentRepo.findById(dto.getStudentId()).orElseThrow();
+            Subject subject = subjectRepo.findById(dto.getSubjectId()).orElseThrow();
+            Mark mark = new Mark();
+            mark.setStudent(student);
+            mark.setSubject(subject);
+            mark.setMarks(dto.getMarks());
+            return markRepo.save(mark);
+        }).collect(Collectors.toList());
+    }
+
+    private List<Long> insertStudents(int count) {
+        List<Long> ids = LongStream.range(nextStudentId, nextStudentId + count).boxed().collect(Collectors.toList());
+        nextStudentId += count;
+        jdbc.batchUpdate("INSERT INTO student (id, name, email, course_id) VALUES (?, ?, ?, ?)",
+                ids.stream()
+                        .map(id -> new Object[]{id, "Student " + id, id + "@bench.test", BCA_COURSE_ID})
+                        .collect(Collectors.toList()));
+        return ids;
+    }
+
+    private static MarkUpdateDto dto(Long markId, Long studentId, Long subjectId, int marks) {
+        MarkUpdateDto dto = new MarkUpdateDto();
+        dto.setMarkId(markId);
+        dto.setStudentId(studentId);
+        dto.setSubjectId(subjectId);
+        dto.setMarks(marks);
+        return dto;
+    }
+}
@@ -0,0 +1,71 @@
+package com.sms.studentmanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sms.studentmanagement.entity.Student;
+import com.sms.studentmanagement.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.seed.attendance.enabled=false")
+@AutoConfigureMockMvc
+class MarkControllerStatsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentRepository studentRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void studentWithoutCourseGetsOwnTotalsAndNoRank() throws Exception {
+        Student student = new Student();
+        student.setName("No Course");
+        student.setEmail("no.course@stats.test");
+        long id = studentRepo.save(student).getId();
+        for (int marks : new int[]{70, 81}) {
+            jdbc.update("INSERT INTO mark (id, student_id, subject_id, marks) VALUES (NEXT VALUE FOR mark_seq, ?, 1, ?)",
+                    id, marks);
+        }
+
+        JsonNode stats = stats(id);
+        assertEquals(id, stats.get("studentId").asLong());
+        assertTrue(stats.get("courseId").isNull());
+        assertEquals(151, stats.get("total").asLong());
+        assertEquals(75.5, stats.get("average").asDouble());
+        assertTrue(stats.get("classRank").isNull());
+    }
+
+    @Test
+    void studentInCourseIsRanked() throws Exception {
+        JsonNode stats = stats(1L);
+        assertEquals(1, stats.get("courseId").asLong());
+        assertTrue(stats.get("classRank").asLong() >= 1);
+    }
+
+    @Test
+    void unknownStudentIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/marks/student/987654321/stats")).andExpect(status().isNotFound());
+    }
+
+    private JsonNode stats(long studentId) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/marks/student/" + studentId + "/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,150 @@
+package com.sms.studentmanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sms.studentmanagement.cache.JsonResponseCache;
+import com.sms.studentmanagement.entity.Course;
+import com.sms.studentmanagement.entity.Subject;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Course and Subject reads through the Hibernate second-level cache, observed via /api/cache/stats.
+ * The JSON response cache in front of the endpoints is dropped before each read so that every
+ * request reaches Hibernate.
+ */
+@SpringBootTest(properties = "app.seed.attendance.enabled=false")
+@AutoConfigureMockMvc
+class SecondLevelCacheTest {
+
+    private static final String COURSE_REGION = Course.class.getName();
+    private static final String SUBJECT_REGION = Subject.class.getName();
+    private static final String SUBJECTS_REGION = Course.class.getName() + ".subjects";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JsonResponseCache responseCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Test contexts with other properties recreate the shared in-memory schema, so ids get reused;
+    // start from empty regions rather than entries cached against an earlier schema
+    @BeforeEach
+    void clearSecondLevelCache() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void repeatedCourseReadsHitTheSecondLevelCache() throws Exception {
+        long courseId = createCourse("L2 Cache Reads");
+
+        read("/api/courses");
+        JsonNode before = stats();
+        read("/api/courses");
+        JsonNode afterList = stats();
+        assertTrue(afterList.get("queryCache").get("hits").asLong() > before.get("queryCache").get("hits").asLong());
+        // The cached query carries the course rows; their subjects come from the collection and entity regions
+        assertTrue(hits(afterList, SUBJECTS_REGION) > hits(before, SUBJECTS_REGION));
+        assertTrue(hits(afterList, SUBJECT_REGION) > hits(before, SUBJECT_REGION));
+
+        read("/api/courses/" + courseId);
+        JsonNode beforeById = stats();
+        read("/api/courses/" + courseId);
+        JsonNode afterById = stats();
+        assertTrue(hits(afterById, COURSE_REGION) > hits(beforeById, COURSE_REGION), "lookup by id is served from the cache");
+        assertTrue(l2Hits(afterById) > l2Hits(beforeById));
+    }
+
+    @Test
+    void subjectWritesShowUpInTheNextRead() throws Exception {
+        long courseId = createCourse("L2 Cache Writes");
+        read("/api/courses/" + courseId);
+        read("/api/courses");
+
+        JsonNode created = objectMapper.readTree(mockMvc.perform(post("/api/subjects")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Cache Subject\",\"courseId\":" + courseId + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        long subjectId = created.get("id").asLong();
+        assertTrue(subjectNames(courseId).contains("Cache Subject"));
+
+        mockMvc.perform(put("/api/subjects/" + subjectId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed Subject\",\"courseId\":" + courseId + "}"))
+                .andExpect(status().isOk());
+        List<String> renamed = subjectNames(courseId);
+        assertTrue(renamed.contains("Renamed Subject"));
+        assertFalse(renamed.contains("Cache Subject"));
+
+        mockMvc.perform(delete("/api/subjects/" + subjectId)).andExpect(status().isOk());
+        assertFalse(subjectNames(courseId).contains("Renamed Subject"));
+    }
+
+    private long createCourse(String name) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(post("/api/courses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"subjects\":[]}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    /** Subject names of the course, both from /api/courses/{id} and from its entry in /api/courses. */
+    private List<String> subjectNames(long courseId) throws Exception {
+        List<String> byId = names(read("/api/courses/" + courseId).get("subjects"));
+        JsonNode listed = StreamSupport.stream(read("/api/courses").spliterator(), false)
+                .filter(c -> c.get("id").asLong() == courseId).findFirst().orElseThrow();
+        assertEquals(byId, names(listed.get("subjects")));
+        return byId;
+    }
+
+    private JsonNode read(String url) throws Exception {
+        responseCache.invalidateAll();
+        return objectMapper.readTree(mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private JsonNode stats() throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/cache/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static long hits(JsonNode stats, String region) {
+        return stats.get("regions").get(region).get("hits").asLong();
+    }
+
+    private static long l2Hits(JsonNode stats) {
+        return stats.get("secondLevelCache").get("hits").asLong();
+    }
+
+    private static List<String> names(JsonNode subjects) {
+        return StreamSupport.stream(subjects.spliterator(), false).map(s -> s.get("name").asText()).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package com.sms.studentmanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sms.studentmanagement.entity.Attendance;
+import com.sms.studentmanagement.repository.AttendanceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.seed.attendance.enabled=false")
+@AutoConfigureMockMvc
+class StudentControllerBackfillTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AttendanceController attendanceController;
+
+    @Autowired
+    private AttendanceRepository attendanceRepo;
+
+    @Test
+    void createdStudentIsBackfilledAbsentForExistingDates() throws Exception {
+        attendanceController.markAttendance(1L, "2031-03-01", true);
+        attendanceController.markAttendance(1L, "2031-03-02", true);
+        int dates = attendanceRepo.findDistinctDates().size();
+
+        JsonNode created = objectMapper.readTree(mockMvc.perform(post("/api/students")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Backfill Test\",\"email\":\"backfill@test\",\"course\":{\"id\":1}}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        long id = created.get("id").asLong();
+
+        JsonNode backfill = awaitBackfill(id);
+        assertEquals("COMPLETED", backfill.get("state").asText());
+        assertEquals(dates, backfill.get("inserted").asInt());
+
+        List<Attendance> rows = attendanceRepo.findByStudentId(id);
+        assertEquals(dates, rows.size());
+        assertTrue(rows.stream().noneMatch(Attendance::isPresent));
+        assertTrue(rows.stream().anyMatch(a -> a.getDate().equals(LocalDate.of(2031, 3, 2))));
+    }
+
+    @Test
+    void statusForUnknownStudentIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/students/9999/backfill"))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode awaitBackfill(long id) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            JsonNode status = objectMapper.readTree(mockMvc.perform(get("/api/students/" + id + "/backfill"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            String state = status.get("state").asText();
+            if (state.equals("COMPLETED") || state.equals("FAILED") || System.currentTimeMillis() > deadline) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.sms.studentmanagement.profiling;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.seed.attendance.enabled=false",
+        "app.profiler.enabled=true",
+        "app.profiler.slow-request-ms=0"})
+@ExtendWith(OutputCaptureExtension.class)
+class RequestProfilingFilterTest {
+
+    private static final Pattern SERVER_TIMING = Pattern.compile(
+            "sql-count;desc=\"(\\d+)\", sql;dur=([\\d.]+), json;dur=([\\d.]+), total;dur=([\\d.]+)");
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    void jsonResponseCarriesServerTiming() {
+        ResponseEntity<String> response = rest.getForEntity("/api/marks/student/1/details", String.class);
+        assertEquals(200, response.getStatusCode().value());
+
+        Matcher timing = serverTiming(response);
+        assertEquals(2, Integer.parseInt(timing.group(1)));
+        assertTrue(Double.parseDouble(timing.group(3)) > 0, "JSON time is measured");
+        assertTrue(Double.parseDouble(timing.group(4)) >= Double.parseDouble(timing.group(2)));
+    }
+
+    @Test
+    void errorResponseCarriesServerTiming() {
+        ResponseEntity<String> response = rest.getForEntity("/api/students/999999", String.class);
+        assertTrue(response.getStatusCode().isError());
+        serverTiming(response);
+    }
+
+    @Test
+    void slowRequestIsLoggedWithStatements(CapturedOutput output) {
+        rest.getForEntity("/api/marks/student/1/details", String.class);
+
+        assertTrue(output.getOut().contains("Slow request GET /api/marks/student/1/details -> 200"));
+        assertTrue(output.getOut().contains(" ms  select "), "statement list is logged");
+    }
+
+    private static Matcher serverTiming(ResponseEntity<?> response) {
+        String header = response.getHeaders().getFirst("Server-Timing");
+        assertNotNull(header, "Server-Timing header");
+        Matcher matcher = SERVER_TIMING.matcher(header);
+        assertTrue(matcher.matches(), header);
+        return matcher;
+    }
+}